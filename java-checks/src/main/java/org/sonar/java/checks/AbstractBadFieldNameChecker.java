@@ -45,6 +45,11 @@ public abstract class AbstractBadFieldNameChecker extends IssuableSubscriptionVi
     return ImmutableList.of(Tree.Kind.CLASS, Tree.Kind.ENUM);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
@@ -22,7 +22,7 @@ package org.sonar.java.checks;
 import com.google.common.collect.Lists;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
-import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
@@ -87,7 +87,7 @@ public class AnonymousClassesTooBigCheck extends BaseTreeVisitor implements Java
     super.visitLambdaExpression(lambdaExpressionTree);
   }
 
-  private static int getNumberOfLines(Tree tree) {
-    return new LinesOfCodeVisitor().linesOfCode(tree);
+  private int getNumberOfLines(Tree tree) {
+    return ScannerContextUtils.metrics(context).linesOfCode(tree);
   }
 }
@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.ast.visitors.CognitiveComplexityVisitor;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -53,7 +54,7 @@ public class CognitiveComplexityMethodCheck  extends IssuableSubscriptionVisitor
   @Override
   public void visitNode(Tree tree) {
     MethodTree method = (MethodTree) tree;
-    CognitiveComplexityVisitor.Result result = CognitiveComplexityVisitor.methodComplexity(method);
+    CognitiveComplexityVisitor.Result result = ScannerContextUtils.metrics(context).cognitiveComplexity(method);
     int total = result.complexity;
     if (total > max) {
       reportIssue(method.simpleName(),
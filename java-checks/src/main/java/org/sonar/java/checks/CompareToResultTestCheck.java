@@ -23,10 +23,9 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.Rule;
 import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.matcher.TypeCriteria;
+import org.sonar.java.resolve.JavaSymbol;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
-import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
@@ -38,7 +37,6 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-import java.util.Collection;
 import java.util.List;
 
 @Rule(key = "S2200")
@@ -89,7 +87,7 @@ public class CompareToResultTestCheck extends IssuableSubscriptionVisitor {
       ExpressionTree initializer = variableDefinition.initializer();
       if (initializer != null && initializer.is(Tree.Kind.METHOD_INVOCATION) && variableSymbol.owner().isMethodSymbol()) {
         MethodTree method = ((Symbol.MethodSymbol) variableSymbol.owner()).declaration();
-        return method != null && COMPARE_TO.matches((MethodInvocationTree) initializer) && !isReassigned(variableSymbol, method);
+        return method != null && COMPARE_TO.matches((MethodInvocationTree) initializer) && !isReassigned(variableSymbol);
       }
     }
     return false;
@@ -104,44 +102,8 @@ public class CompareToResultTestCheck extends IssuableSubscriptionVisitor {
     return expression.is(Tree.Kind.INT_LITERAL) && !"0".equals(((LiteralTree) expression).value());
   }
 
-  private static boolean isReassigned(Symbol variableSymbol, Tree method) {
-    Collection<IdentifierTree> usages = variableSymbol.usages();
-    ReAssignmentFinder reAssignmentFinder = new ReAssignmentFinder(usages);
-    method.accept(reAssignmentFinder);
-    return reAssignmentFinder.foundReAssignment;
-  }
-
-  private static class ReAssignmentFinder extends BaseTreeVisitor {
-
-    private final Collection<IdentifierTree> usages;
-    private boolean foundReAssignment = false;
-
-    public ReAssignmentFinder(Collection<IdentifierTree> usages) {
-      this.usages = usages;
-    }
-
-    @Override
-    public void visitUnaryExpression(UnaryExpressionTree unaryExp) {
-      if (unaryExp.is(Tree.Kind.POSTFIX_INCREMENT, Tree.Kind.POSTFIX_DECREMENT, Tree.Kind.PREFIX_INCREMENT, Tree.Kind.PREFIX_DECREMENT)) {
-        checkReAssignment(unaryExp.expression());
-      }
-      super.visitUnaryExpression(unaryExp);
-    }
-
-    @Override
-    public void visitAssignmentExpression(AssignmentExpressionTree assignmentExpression) {
-      checkReAssignment(assignmentExpression.variable());
-      super.visitAssignmentExpression(assignmentExpression);
-    }
-
-    private void checkReAssignment(ExpressionTree expression) {
-      if (expression.is(Tree.Kind.IDENTIFIER)) {
-        IdentifierTree identifier = (IdentifierTree) expression;
-        if (usages.contains(identifier)) {
-          foundReAssignment = true;
-        }
-      }
-    }
+  private static boolean isReassigned(Symbol variableSymbol) {
+    return !((JavaSymbol) variableSymbol).writes().writes().isEmpty();
   }
 
 }
@@ -28,6 +28,7 @@ import org.sonar.java.cfg.LiveVariables;
 import org.sonar.java.cfg.VariableReadExtractor;
 import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.model.LiteralUtils;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
@@ -76,8 +77,8 @@ public class DeadStoreCheck extends IssuableSubscriptionVisitor {
     }
 
     Symbol.MethodSymbol methodSymbol = methodTree.symbol();
-    CFG cfg = CFG.build(methodTree);
-    LiveVariables liveVariables = LiveVariables.analyze(cfg);
+    CFG cfg = ScannerContextUtils.methodAnalysisCache(context).cfg(methodTree);
+    LiveVariables liveVariables = ScannerContextUtils.methodAnalysisCache(context).liveVariables(methodTree);
     // Liveness analysis provides information only for block boundaries, so we should do analysis between elements within blocks
     for (CFG.Block block : cfg.blocks()) {
       checkElements(block, liveVariables.getOut(block), methodSymbol);
@@ -94,6 +94,11 @@ public class HardCodedCredentialsCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.STRING_LITERAL, Tree.Kind.VARIABLE, Tree.Kind.ASSIGNMENT, Tree.Kind.NEW_CLASS, Tree.Kind.METHOD_INVOCATION);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     if (tree.is(Tree.Kind.STRING_LITERAL)) {
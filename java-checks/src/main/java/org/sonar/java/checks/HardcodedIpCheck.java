@@ -23,38 +23,38 @@ import com.google.common.base.Splitter;
 
 import org.sonar.check.Rule;
 import org.sonar.java.model.LiteralUtils;
-import org.sonar.plugins.java.api.JavaFileScanner;
-import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Rule(key = "S1313")
-public class HardcodedIpCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class HardcodedIpCheck extends IssuableSubscriptionVisitor {
 
   private static final Matcher IP = Pattern.compile("([^\\d.]*\\/)?(?<ip>(?:\\d{1,3}\\.){3}\\d{1,3}(?!\\d|\\.))(\\/.*)?").matcher("");
 
-  private JavaFileScannerContext context;
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return Collections.singletonList(Tree.Kind.STRING_LITERAL);
+  }
 
   @Override
-  public void scanFile(final JavaFileScannerContext context) {
-    this.context = context;
-    scan(context.getTree());
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
   }
 
   @Override
-  public void visitLiteral(LiteralTree tree) {
-    if (tree.is(Tree.Kind.STRING_LITERAL)) {
-      String value = LiteralUtils.trimQuotes(tree.value());
-      IP.reset(value);
-      if (IP.matches()) {
-        String ip = IP.group("ip");
-        if (areAllBelow256(Splitter.on('.').split(ip))) {
-          context.reportIssue(this, tree, "Make this IP \"" + ip + "\" address configurable.");
-        }
+  public void visitNode(Tree tree) {
+    String value = LiteralUtils.trimQuotes(((LiteralTree) tree).value());
+    IP.reset(value);
+    if (IP.matches()) {
+      String ip = IP.group("ip");
+      if (areAllBelow256(Splitter.on('.').split(ip))) {
+        reportIssue(tree, "Make this IP \"" + ip + "\" address configurable.");
       }
     }
   }
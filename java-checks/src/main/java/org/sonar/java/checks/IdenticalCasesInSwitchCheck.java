@@ -36,7 +36,11 @@ import org.sonar.plugins.java.api.tree.SwitchStatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
 
 @Rule(key = "S1871")
 public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
@@ -74,22 +78,34 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
 
   protected Multimap<CaseGroupTree, CaseGroupTree> checkSwitchStatement(SwitchStatementTree node) {
     SetMultimap<CaseGroupTree, CaseGroupTree> identicalBranches = HashMultimap.create();
-    int index = 0;
-    List<CaseGroupTree> cases = node.cases();
-    for (CaseGroupTree caseGroupTree : cases) {
-      index++;
-      if (identicalBranches.containsValue(caseGroupTree)) {
-        continue;
-      }
-      for (int i = index; i < cases.size(); i++) {
-        if (SyntacticEquivalence.areEquivalent(caseGroupTree.body(), cases.get(i).body())) {
-          identicalBranches.put(caseGroupTree, cases.get(i));
+    // only cases with the same structural hash can be equivalent
+    for (List<CaseGroupTree> cases : bucketByHash(node.cases(), caseGroupTree -> SyntacticEquivalence.hash(caseGroupTree.body()))) {
+      for (int i = 0; i < cases.size(); i++) {
+        CaseGroupTree caseGroupTree = cases.get(i);
+        if (identicalBranches.containsValue(caseGroupTree)) {
+          continue;
+        }
+        for (int j = i + 1; j < cases.size(); j++) {
+          if (SyntacticEquivalence.areEquivalent(caseGroupTree.body(), cases.get(j).body())) {
+            identicalBranches.put(caseGroupTree, cases.get(j));
+          }
         }
       }
     }
     return identicalBranches;
   }
 
+  /**
+   * Groups elements by hash, preserving their relative order within each group.
+   */
+  private static <T> Collection<List<T>> bucketByHash(List<T> elements, ToIntFunction<T> hash) {
+    Map<Integer, List<T>> buckets = new LinkedHashMap<>();
+    for (T element : elements) {
+      buckets.computeIfAbsent(hash.applyAsInt(element), k -> new ArrayList<>()).add(element);
+    }
+    return buckets.values();
+  }
+
   protected static class IfElseChain {
     Multimap<StatementTree, StatementTree> branches = HashMultimap.create();
     int totalBranchCount;
@@ -114,13 +130,15 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
 
   private static IfElseChain collectIdenticalBranches(List<StatementTree> allBranches) {
     IfElseChain ifElseChain = new IfElseChain();
-    for (int i = 0; i <  allBranches.size(); i++) {
-      if (ifElseChain.branches.containsValue(allBranches.get(i))) {
-        continue;
-      }
-      for (int j = i + 1; j < allBranches.size(); j++) {
-        if (SyntacticEquivalence.areEquivalent(allBranches.get(i), allBranches.get(j))) {
-          ifElseChain.branches.put(allBranches.get(i), allBranches.get(j));
+    for (List<StatementTree> branches : bucketByHash(allBranches, SyntacticEquivalence::hash)) {
+      for (int i = 0; i < branches.size(); i++) {
+        if (ifElseChain.branches.containsValue(branches.get(i))) {
+          continue;
+        }
+        for (int j = i + 1; j < branches.size(); j++) {
+          if (SyntacticEquivalence.areEquivalent(branches.get(i), branches.get(j))) {
+            ifElseChain.branches.put(branches.get(i), branches.get(j));
+          }
         }
       }
     }
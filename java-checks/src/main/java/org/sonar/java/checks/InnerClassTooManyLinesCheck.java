@@ -22,8 +22,8 @@ package org.sonar.java.checks;
 import com.google.common.collect.ImmutableList;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
-import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
 import org.sonar.java.checks.helpers.ExpressionsHelper;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.Type;
@@ -56,7 +56,7 @@ public class InnerClassTooManyLinesCheck extends IssuableSubscriptionVisitor {
     Type ownerType = owner.type();
     if (ownerType != null && ownerType.isClass() && owner.owner().isPackageSymbol()) {
       // raise only one issue for the first level of nesting when multiple nesting
-      int lines = new LinesOfCodeVisitor().linesOfCode(node);
+      int lines = ScannerContextUtils.metrics(context).linesOfCode(node);
       if (lines > max) {
         reportIssue(ExpressionsHelper.reportOnClassTree(node), "Reduce this class from " + lines + " to the maximum allowed " + max + " or externalize it in a public class.");
       }
@@ -78,6 +78,8 @@ public class MethodIdenticalImplementationsCheck extends IssuableSubscriptionVis
         .skip(i + 1L)
         // avoid reporting multiple times
         .filter(otherMethodWithVariables -> !reported.contains(otherMethodWithVariables.method))
+        // cheap rejection of bodies which can not be equivalent
+        .filter(otherMethodWithVariables -> otherMethodWithVariables.bodyHash == methodWithVariables.bodyHash)
         // skip overloads
         .filter(otherMethodWithVariables -> !methodIdentifier.text().equals(otherMethodWithVariables.method.simpleName().name()))
         // only consider method syntactically equivalent
@@ -104,11 +106,13 @@ public class MethodIdenticalImplementationsCheck extends IssuableSubscriptionVis
 
   private static class MethodWithUsedVariables extends BaseTreeVisitor {
     private final MethodTree method;
+    private final int bodyHash;
     private final Map<String, Type> usedVariablesByNameAndType = new HashMap<>();
     private boolean hasUnknownVariableType = false;
 
     public MethodWithUsedVariables(MethodTree method) {
       this.method = method;
+      this.bodyHash = SyntacticEquivalence.hash(method.block().body());
       method.accept(this);
     }
 
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.Rule;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.Symbol.TypeSymbol;
@@ -84,9 +85,9 @@ public class PrivateFieldUsedLocallyCheck extends IssuableSubscriptionVisitor {
     }
   }
 
-  private static boolean isLiveInMethodEntry(Symbol privateFieldSymbol, MethodTree methodTree) {
-    CFG cfg = CFG.build(methodTree);
-    LiveVariables liveVariables = LiveVariables.analyzeWithFields(cfg);
+  private boolean isLiveInMethodEntry(Symbol privateFieldSymbol, MethodTree methodTree) {
+    CFG cfg = ScannerContextUtils.methodAnalysisCache(context).cfg(methodTree);
+    LiveVariables liveVariables = ScannerContextUtils.methodAnalysisCache(context).liveVariablesWithFields(methodTree);
     return liveVariables.getIn(cfg.entry()).contains(privateFieldSymbol);
   }
 
@@ -36,6 +36,11 @@ public class RSAUsesOAEPCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.STRING_LITERAL);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     LiteralTree lt = (LiteralTree) tree;
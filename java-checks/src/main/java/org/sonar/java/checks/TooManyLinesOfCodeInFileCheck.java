@@ -23,7 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.RspecKey;
-import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.Tree;
 
@@ -50,7 +50,7 @@ public class TooManyLinesOfCodeInFileCheck extends IssuableSubscriptionVisitor {
 
   @Override
   public void visitNode(Tree tree) {
-    int lines = new LinesOfCodeVisitor().linesOfCode(tree);
+    int lines = ScannerContextUtils.metrics(context).linesOfCode(tree);
     if (lines > maximum) {
       addIssueOnFile(MessageFormat.format("This file has {0} lines, which is greater than {1} authorized. Split it into smaller files.", lines, maximum));
     }
@@ -26,6 +26,7 @@ import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.matcher.MethodMatcherCollection;
 import org.sonar.java.matcher.TypeCriteria;
 import org.sonar.java.model.ExpressionUtils;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.BlockTree;
 import org.sonar.plugins.java.api.tree.BreakStatementTree;
@@ -145,7 +146,7 @@ public class UnconditionalJumpStatementCheck extends IssuableSubscriptionVisitor
     return false;
   }
 
-  private static boolean executeUnconditionnally(Tree loopTree) {
+  private boolean executeUnconditionnally(Tree loopTree) {
     CFG cfg = getCFG(loopTree);
     CFG.Block loopBlock = getLoopBlock(cfg, loopTree);
     // we cannot find a path in the CFG that goes twice through this instruction.
@@ -222,14 +223,14 @@ public class UnconditionalJumpStatementCheck extends IssuableSubscriptionVisitor
     }
   }
 
-  private static CFG getCFG(Tree loop) {
+  private CFG getCFG(Tree loop) {
     Tree currentTree = loop;
     do {
       currentTree = currentTree.parent();
     } while (!currentTree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR, Tree.Kind.INITIALIZER, Tree.Kind.STATIC_INITIALIZER));
 
     if (currentTree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
-      return CFG.build((MethodTree) currentTree);
+      return ScannerContextUtils.methodAnalysisCache(context).cfg((MethodTree) currentTree);
     }
     return CFG.buildCFG(((BlockTree) currentTree).body());
   }
@@ -23,19 +23,20 @@ import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.RspecKey;
 import org.sonar.java.model.ModifiersUtils;
-import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.Modifier;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 @Rule(key = "S00118")
 @RspecKey("S118")
-public class BadAbstractClassNameCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class BadAbstractClassNameCheck extends IssuableSubscriptionVisitor {
 
   private static final String DEFAULT_FORMAT = "^Abstract[A-Z][a-zA-Z0-9]*$";
 
@@ -46,32 +47,39 @@ public class BadAbstractClassNameCheck extends BaseTreeVisitor implements JavaFi
   public String format = DEFAULT_FORMAT;
 
   private Pattern pattern = null;
-  private JavaFileScannerContext context;
+
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return Collections.singletonList(Tree.Kind.CLASS);
+  }
+
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
       pattern = Pattern.compile(format, Pattern.DOTALL);
     }
-    this.context = context;
-    scan(context.getTree());
+    super.scanFile(context);
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    IdentifierTree simpleName = tree.simpleName();
-    if (tree.is(Tree.Kind.CLASS) && simpleName != null) {
-      if (pattern.matcher(simpleName.name()).matches()) {
-        if (!isAbstract(tree)) {
-          context.reportIssue(this, simpleName, "Make this class abstract or rename it, since it matches the regular expression '" + format + "'.");
-        }
-      } else {
-        if (isAbstract(tree)) {
-          context.reportIssue(this, simpleName, "Rename this abstract class name to match the regular expression '" + format + "'.");
-        }
+  public void visitNode(Tree tree) {
+    ClassTree classTree = (ClassTree) tree;
+    IdentifierTree simpleName = classTree.simpleName();
+    if (simpleName == null) {
+      return;
+    }
+    if (pattern.matcher(simpleName.name()).matches()) {
+      if (!isAbstract(classTree)) {
+        reportIssue(simpleName, "Make this class abstract or rename it, since it matches the regular expression '" + format + "'.");
       }
+    } else if (isAbstract(classTree)) {
+      reportIssue(simpleName, "Rename this abstract class name to match the regular expression '" + format + "'.");
     }
-    super.visitClass(tree);
   }
 
   private static boolean isAbstract(ClassTree tree) {
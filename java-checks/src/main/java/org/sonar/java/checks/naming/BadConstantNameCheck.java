@@ -55,6 +55,11 @@ public class BadConstantNameCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.CLASS, Tree.Kind.ENUM, Tree.Kind.INTERFACE, Tree.Kind.ANNOTATION_TYPE);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
@@ -22,18 +22,19 @@ package org.sonar.java.checks.naming;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.RspecKey;
-import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 @Rule(
   key = "S00114")
 @RspecKey("S114")
-public class BadInterfaceNameCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class BadInterfaceNameCheck extends IssuableSubscriptionVisitor {
 
   private static final String DEFAULT_FORMAT = "^[A-Z][a-zA-Z0-9]*$";
 
@@ -44,24 +45,31 @@ public class BadInterfaceNameCheck extends BaseTreeVisitor implements JavaFileSc
   public String format = DEFAULT_FORMAT;
 
   private Pattern pattern = null;
-  private JavaFileScannerContext context;
+
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return Collections.singletonList(Tree.Kind.INTERFACE);
+  }
+
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
       pattern = Pattern.compile(format, Pattern.DOTALL);
     }
-    this.context = context;
-    scan(context.getTree());
+    super.scanFile(context);
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    if (tree.is(Tree.Kind.INTERFACE) && !pattern.matcher(tree.simpleName().name()).matches()) {
-      context.reportIssue(this, tree.simpleName(), "Rename this interface name to match the regular expression '" + format + "'.");
+  public void visitNode(Tree tree) {
+    ClassTree classTree = (ClassTree) tree;
+    if (!pattern.matcher(classTree.simpleName().name()).matches()) {
+      reportIssue(classTree.simpleName(), "Rename this interface name to match the regular expression '" + format + "'.");
     }
-
-    super.visitClass(tree);
   }
 
 }
@@ -61,6 +61,11 @@ public class BadLocalConstantNameCheck extends IssuableSubscriptionVisitor {
     return Collections.singletonList(Tree.Kind.VARIABLE);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     if (!hasSemantic()) {
@@ -23,22 +23,22 @@ import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.RspecKey;
 import org.sonar.java.resolve.JavaType;
-import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Type;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.CatchTree;
-import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.ForEachStatement;
 import org.sonar.plugins.java.api.tree.ForStatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 @Rule(key = "S00117")
 @RspecKey("S117")
-public class BadLocalVariableNameCheck  extends BaseTreeVisitor implements JavaFileScanner {
+public class BadLocalVariableNameCheck extends IssuableSubscriptionVisitor {
 
   private static final String DEFAULT_FORMAT = "^[a-z][a-zA-Z0-9]*$";
 
@@ -49,58 +49,58 @@ public class BadLocalVariableNameCheck  extends BaseTreeVisitor implements JavaF
   public String format = DEFAULT_FORMAT;
 
   private Pattern pattern = null;
-  private JavaFileScannerContext context;
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
-    }
-    this.context = context;
-    scan(context.getTree());
-  }
-
-  @Override
-  public void visitClass(ClassTree tree) {
-    for (Tree member : tree.members()) {
-      if (member.is(Tree.Kind.VARIABLE)) {
-        // skip check of field
-        scan(((VariableTree) member).initializer());
-      } else {
-        scan(member);
-      }
-    }
+  public List<Tree.Kind> nodesToVisit() {
+    return Collections.singletonList(Tree.Kind.VARIABLE);
   }
 
   @Override
-  public void visitForStatement(ForStatementTree tree) {
-    scan(tree.statement());
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
   }
 
   @Override
-  public void visitForEachStatement(ForEachStatement tree) {
-    scan(tree.statement());
+  public void scanFile(JavaFileScannerContext context) {
+    if (pattern == null) {
+      pattern = Pattern.compile(format, Pattern.DOTALL);
+    }
+    super.scanFile(context);
   }
 
   @Override
-  public void visitCatch(CatchTree tree) {
-    VariableTree parameter = tree.parameter();
-    if (parameter.simpleName().name().length() > 1) {
-      scan(parameter);
+  public void visitNode(Tree tree) {
+    VariableTree variableTree = (VariableTree) tree;
+    if (!isExcluded(variableTree) && !pattern.matcher(variableTree.simpleName().name()).matches() && !isLocalConstant(variableTree)) {
+      reportIssue(variableTree.simpleName(), "Rename this local variable to match the regular expression '" + format + "'.");
     }
-    scan(tree.block());
   }
 
-  @Override
-  public void visitVariable(VariableTree tree) {
-    if (!pattern.matcher(tree.simpleName().name()).matches() && !isLocalConstant(tree)) {
-      context.reportIssue(this, tree.simpleName(), "Rename this local variable to match the regular expression '" + format + "'.");
+  /**
+   * Fields, single character catch parameters, and anything declared in the header of a for or for-each loop are not checked.
+   */
+  private static boolean isExcluded(VariableTree variableTree) {
+    Tree parent = variableTree.parent();
+    if (parent.is(Tree.Kind.CLASS, Tree.Kind.ENUM, Tree.Kind.INTERFACE, Tree.Kind.ANNOTATION_TYPE)) {
+      return true;
+    }
+    if (parent.is(Tree.Kind.CATCH) && ((CatchTree) parent).parameter() == variableTree && variableTree.simpleName().name().length() <= 1) {
+      return true;
+    }
+    Tree child = variableTree;
+    while (parent != null) {
+      if ((parent.is(Tree.Kind.FOR_STATEMENT) && ((ForStatementTree) parent).statement() != child)
+        || (parent.is(Tree.Kind.FOR_EACH_STATEMENT) && ((ForEachStatement) parent).statement() != child)) {
+        return true;
+      }
+      child = parent;
+      parent = parent.parent();
     }
-    super.visitVariable(tree);
+    return false;
   }
 
   private boolean isLocalConstant(VariableTree tree) {
-    return context.getSemanticModel() != null && isConstantType(tree.symbol().type()) && tree.symbol().isFinal();
+    return hasSemantic() && isConstantType(tree.symbol().type()) && tree.symbol().isFinal();
   }
 
   private static boolean isConstantType(Type symbolType) {
@@ -53,6 +53,11 @@ public class BadMethodNameCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.METHOD);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
@@ -53,6 +53,11 @@ public class BadTestClassNameCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.CLASS);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
@@ -52,6 +52,11 @@ public class BadTestMethodNameCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.METHOD);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
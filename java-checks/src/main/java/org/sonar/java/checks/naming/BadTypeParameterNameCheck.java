@@ -51,6 +51,11 @@ public class BadTypeParameterNameCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Kind.TYPE_PARAMETER);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     pattern = Pattern.compile(format, Pattern.DOTALL);
@@ -39,6 +39,11 @@ public class BooleanMethodNameCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.METHOD);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     if (!hasSemantic()) {
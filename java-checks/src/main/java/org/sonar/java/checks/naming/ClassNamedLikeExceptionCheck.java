@@ -38,6 +38,11 @@ public class ClassNamedLikeExceptionCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.CLASS);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     if (hasSemantic()) {
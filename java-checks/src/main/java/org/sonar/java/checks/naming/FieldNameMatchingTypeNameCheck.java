@@ -19,65 +19,83 @@
  */
 package org.sonar.java.checks.naming;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 import org.sonar.check.Rule;
-import org.sonar.plugins.java.api.JavaFileScanner;
-import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.java.model.ScannerContextUtils;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-import java.util.Collection;
+import javax.annotation.CheckForNull;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 @Rule(key = "S1700")
-public class FieldNameMatchingTypeNameCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class FieldNameMatchingTypeNameCheck extends IssuableSubscriptionVisitor {
 
-  private JavaFileScannerContext context;
-  private String currentClassName;
-  private Collection<Tree> fields;
+  private static final Tree.Kind[] CLASS_KINDS = {Tree.Kind.CLASS, Tree.Kind.ENUM, Tree.Kind.INTERFACE, Tree.Kind.ANNOTATION_TYPE};
+  private static final Comparator<Tree> DOCUMENT_ORDER = Comparator.<Tree>comparingInt(tree -> tree.firstToken().line())
+    .thenComparingInt(tree -> tree.firstToken().column());
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    this.context = context;
-    currentClassName = "";
-    fields = Lists.newArrayList();
-    if (context.getSemanticModel() != null) {
-      scan(context.getTree());
-    }
+  public List<Tree.Kind> nodesToVisit() {
+    return ImmutableList.copyOf(CLASS_KINDS);
+  }
+
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    IdentifierTree simpleName = tree.simpleName();
-    if (simpleName != null) {
-      Symbol.TypeSymbol classSymbol = tree.symbol();
-      Collection<Symbol> members = classSymbol.memberSymbols();
-      for (Symbol sym : members) {
-        if (sym.isVariableSymbol() && !staticFieldSameType(classSymbol, sym)) {
-          //Exclude static fields of the same type.
-          fields.add(((Symbol.VariableSymbol) sym).declaration());
+  public void visitNode(Tree tree) {
+    ClassTree classTree = (ClassTree) tree;
+    IdentifierTree classSimpleName = classTree.simpleName();
+    if (!hasSemantic() || classSimpleName == null) {
+      return;
+    }
+    String className = classSimpleName.name();
+    Symbol.TypeSymbol classSymbol = classTree.symbol();
+    Tree memberWithNestedClass = memberWithFirstNestedClass(classTree);
+    for (Tree member : classTree.members()) {
+      if (member.is(Tree.Kind.VARIABLE)) {
+        VariableTree field = (VariableTree) member;
+        String name = field.simpleName().name();
+        //Exclude static fields of the same type.
+        if (className.equalsIgnoreCase(name) && !staticFieldSameType(classSymbol, field.symbol())) {
+          reportIssue(field.simpleName(), "Rename field \"" + name + "\"");
         }
       }
-      currentClassName = simpleName.name();
+      if (member == memberWithNestedClass) {
+        // fields declared after a nested class are not checked
+        return;
+      }
     }
-    super.visitClass(tree);
-    currentClassName = "";
-    fields.clear();
   }
 
-  private static boolean staticFieldSameType(Symbol classSymbol, Symbol sym) {
-    return sym.type().equals(classSymbol.type()) && sym.isStatic();
+  /**
+   * @return the member of the class which contains the first class nested in it, if any
+   */
+  @CheckForNull
+  private Tree memberWithFirstNestedClass(ClassTree classTree) {
+    // classes are indexed in document order: the class following this one is the first nested in it, if it is one of its descendants
+    List<Tree> classes = ScannerContextUtils.nodesOfKind(context, CLASS_KINDS);
+    int index = Collections.binarySearch(classes, classTree, DOCUMENT_ORDER);
+    if (index < 0 || index + 1 >= classes.size()) {
+      return null;
+    }
+    Tree member = classes.get(index + 1);
+    while (member != null && member.parent() != classTree) {
+      member = member.parent();
+    }
+    return member;
   }
 
-  @Override
-  public void visitVariable(VariableTree tree) {
-    String name = tree.simpleName().name();
-    if (fields.contains(tree) && currentClassName.equalsIgnoreCase(name)) {
-      context.reportIssue(this, tree.simpleName(), "Rename field \"" + name + "\"");
-    }
-    super.visitVariable(tree);
+  private static boolean staticFieldSameType(Symbol classSymbol, Symbol sym) {
+    return sym.type().equals(classSymbol.type()) && sym.isStatic();
   }
 }
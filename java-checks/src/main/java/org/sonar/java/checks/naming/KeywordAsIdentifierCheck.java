@@ -21,34 +21,36 @@ package org.sonar.java.checks.naming;
 
 import com.google.common.collect.ImmutableSet;
 import org.sonar.check.Rule;
-import org.sonar.plugins.java.api.JavaFileScanner;
-import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 @Rule(key = "S1190")
-public class KeywordAsIdentifierCheck extends BaseTreeVisitor implements JavaFileScanner {
-
-  private JavaFileScannerContext context;
+public class KeywordAsIdentifierCheck extends IssuableSubscriptionVisitor {
 
   private static final Set<String> FORBIDDEN_IDENTIFIERS = ImmutableSet.of("enum", "_");
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    this.context = context;
-    scan(context.getTree());
+  public List<Tree.Kind> nodesToVisit() {
+    return Collections.singletonList(Tree.Kind.VARIABLE);
+  }
+
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
   }
 
   @Override
-  public void visitVariable(VariableTree tree) {
-    IdentifierTree simpleName = tree.simpleName();
+  public void visitNode(Tree tree) {
+    IdentifierTree simpleName = ((VariableTree) tree).simpleName();
     if (FORBIDDEN_IDENTIFIERS.contains(simpleName.name())) {
-      context.reportIssue(this, simpleName, "Use a different name than \"" + simpleName.name() + "\".");
+      reportIssue(simpleName, "Use a different name than \"" + simpleName.name() + "\".");
     }
-    super.visitVariable(tree);
   }
 
 }
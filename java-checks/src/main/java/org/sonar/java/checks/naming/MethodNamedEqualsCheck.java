@@ -41,6 +41,11 @@ public class MethodNamedEqualsCheck extends IssuableSubscriptionVisitor {
     return ImmutableList.of(Tree.Kind.METHOD);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     if (!hasSemantic()) {
@@ -35,6 +35,11 @@ public class MethodNamedHashcodeOrEqualCheck extends IssuableSubscriptionVisitor
     return ImmutableList.of(Tree.Kind.METHOD);
   }
 
+  @Override
+  protected boolean visitsIndexedNodesOnly() {
+    return true;
+  }
+
   @Override
   public void visitNode(Tree tree) {
     IdentifierTree methodIdentifier = ((MethodTree) tree).simpleName();
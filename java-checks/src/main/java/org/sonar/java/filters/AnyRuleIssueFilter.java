@@ -19,30 +19,36 @@
  */
 package org.sonar.java.filters;
 
-import com.google.common.collect.ContiguousSet;
 import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
-import java.util.HashSet;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.CheckForNull;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements JavaIssueFilter {
+public abstract class AnyRuleIssueFilter implements SubscriptionIssueFilter {
 
   private String componentKey;
-  private final Set<Integer> excludedLines = new HashSet<>();
+  private final RangeSet<Integer> excludedLines = TreeRangeSet.create();
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
+  public boolean startFile(JavaFileScannerContext context) {
     excludedLines.clear();
-    scan(context.getTree());
+    return true;
+  }
+
+  @Override
+  public void endFile() {
+    // by default, lines are excluded while visiting the trees
   }
 
   @Override
@@ -52,7 +58,12 @@ public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements Java
 
   @Override
   public boolean accept(FilterableIssue issue) {
-    return !(issue.componentKey().equals(componentKey) && excludedLines.contains(issue.line()));
+    return !(issue.componentKey().equals(componentKey) && SubscriptionLinesIssueFilter.isExcluded(excludedLines, issue.line()));
+  }
+
+  @Override
+  public boolean accept(RuleKey ruleKey, int line) {
+    return !SubscriptionLinesIssueFilter.isExcluded(excludedLines, line);
   }
 
   @Override
@@ -61,10 +72,14 @@ public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements Java
   }
 
   public void excludeLines(Tree tree) {
-    excludedLines.addAll(filteredLines(tree));
+    Range<Integer> filteredLines = filteredLines(tree);
+    if (filteredLines != null) {
+      excludedLines.add(filteredLines.canonical(DiscreteDomain.integers()));
+    }
   }
 
-  private static Set<Integer> filteredLines(Tree tree) {
+  @CheckForNull
+  private static Range<Integer> filteredLines(Tree tree) {
     SyntaxToken firstSyntaxToken = tree.firstToken();
     SyntaxToken lastSyntaxToken = tree.lastToken();
     if (firstSyntaxToken != null && lastSyntaxToken != null) {
@@ -77,8 +92,8 @@ public abstract class AnyRuleIssueFilter extends BaseTreeVisitor implements Java
         startLine = trivias.get(0).startLine();
       }
 
-      return ContiguousSet.create(Range.closed(startLine, endLine), DiscreteDomain.integers());
+      return Range.closed(startLine, endLine);
     }
-    return new HashSet<>();
+    return null;
   }
 }
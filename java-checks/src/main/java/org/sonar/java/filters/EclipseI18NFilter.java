@@ -23,12 +23,16 @@ import com.google.common.collect.ImmutableSet;
 
 import org.sonar.java.checks.ClassVariableVisibilityCheck;
 import org.sonar.java.checks.PublicStaticFieldShouldBeFinalCheck;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.List;
 import java.util.Set;
 
-public class EclipseI18NFilter extends BaseTreeVisitorIssueFilter {
+public class EclipseI18NFilter extends SubscriptionLinesIssueFilter {
 
   private static final Set<Class<? extends JavaCheck>> FILTERED_RULES = ImmutableSet.<Class<? extends JavaCheck>>of(
     PublicStaticFieldShouldBeFinalCheck.class,
@@ -40,12 +44,35 @@ public class EclipseI18NFilter extends BaseTreeVisitorIssueFilter {
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    if (tree.symbol().type().isSubtypeOf("org.eclipse.osgi.util.NLS")) {
-      excludeLines(tree, FILTERED_RULES);
+  public List<Tree.Kind> nodesToVisit() {
+    return CLASS_KINDS;
+  }
+
+  @Override
+  public boolean startFile(JavaFileScannerContext context) {
+    return super.startFile(context) && hasSubclass(context);
+  }
+
+  /**
+   * NLS is a class: only classes extending another one, possibly anonymously, can be subtypes of it.
+   */
+  private static boolean hasSubclass(JavaFileScannerContext context) {
+    for (Tree tree : ScannerContextUtils.nodesOfKind(context, Tree.Kind.CLASS)) {
+      ClassTree classTree = (ClassTree) tree;
+      if (classTree.superClass() != null || classTree.simpleName() == null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void visitNode(Tree tree) {
+    ClassTree classTree = (ClassTree) tree;
+    if (classTree.symbol().type().isSubtypeOf("org.eclipse.osgi.util.NLS")) {
+      excludeLines(classTree, FILTERED_RULES);
     } else {
-      acceptLines(tree, FILTERED_RULES);
+      acceptLines(classTree, FILTERED_RULES);
     }
-    super.visitClass(tree);
   }
 }
@@ -19,36 +19,38 @@
  */
 package org.sonar.java.filters;
 
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 public class GeneratedCodeFilter extends AnyRuleIssueFilter {
 
+  private static final List<Tree.Kind> NODES_TO_VISIT = ImmutableList.<Tree.Kind>builder()
+    .addAll(CLASS_KINDS)
+    .add(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)
+    .build();
+
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    if (context.getSemanticModel() == null) {
-      // Filter requires semantic
-      return;
-    }
-    super.scanFile(context);
+  public List<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    if (isGenerated(tree.symbol())) {
-      excludeLines(tree);
-    }
-    super.visitClass(tree);
+  public boolean startFile(JavaFileScannerContext context) {
+    // Filter requires semantic
+    return super.startFile(context) && context.getSemanticModel() != null;
   }
 
   @Override
-  public void visitMethod(MethodTree tree) {
-    if (isGenerated(tree.symbol())) {
+  public void visitNode(Tree tree) {
+    Symbol symbol = tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR) ? ((MethodTree) tree).symbol() : ((ClassTree) tree).symbol();
+    if (isGenerated(symbol)) {
       excludeLines(tree);
     }
-    super.visitMethod(tree);
   }
 
   private static boolean isGenerated(Symbol symbol) {
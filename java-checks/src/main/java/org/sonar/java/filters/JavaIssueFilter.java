@@ -19,6 +19,7 @@
  */
 package org.sonar.java.filters;
 
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -31,5 +32,10 @@ public interface JavaIssueFilter extends JavaFileScanner {
 
   boolean accept(FilterableIssue issue);
 
+  /**
+   * Same as {@link #accept(FilterableIssue)}, for an issue on the given line of the file last scanned by this filter.
+   */
+  boolean accept(RuleKey ruleKey, int line);
+
   Set<Class<? extends JavaCheck>> filteredRules();
 }
@@ -26,15 +26,25 @@ import org.sonar.java.checks.AtLeastOneConstructorCheck;
 import org.sonar.java.checks.EqualsNotOverriddenInSubclassCheck;
 import org.sonar.java.checks.EqualsNotOverridenWithCompareToCheck;
 import org.sonar.java.checks.UtilityClassWithPublicConstructorCheck;
+import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.java.checks.unused.UnusedPrivateFieldCheck;
+import org.sonar.java.model.PackageUtils;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata;
+import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.ImportClauseTree;
+import org.sonar.plugins.java.api.tree.ImportTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.List;
 import java.util.Set;
 
-public class LombokFilter extends BaseTreeVisitorIssueFilter {
+public class LombokFilter extends SubscriptionLinesIssueFilter {
 
   private static final Set<Class<? extends JavaCheck>> FILTERED_RULES = ImmutableSet.<Class<? extends JavaCheck>>of(
     UnusedPrivateFieldCheck.class,
@@ -75,7 +85,43 @@ public class LombokFilter extends BaseTreeVisitorIssueFilter {
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
+  public List<Tree.Kind> nodesToVisit() {
+    return CLASS_KINDS;
+  }
+
+  @Override
+  public boolean startFile(JavaFileScannerContext context) {
+    return super.startFile(context) && mentionsLombok(context);
+  }
+
+  /**
+   * Lombok annotations are not inherited: a file without any import, annotation or package from lombok has nothing to filter.
+   */
+  private static boolean mentionsLombok(JavaFileScannerContext context) {
+    CompilationUnitTree compilationUnit = context.getTree();
+    if (isLombokName(PackageUtils.packageName(compilationUnit.packageDeclaration(), "."))) {
+      return true;
+    }
+    for (ImportClauseTree importClause : compilationUnit.imports()) {
+      if (importClause.is(Tree.Kind.IMPORT) && isLombokName(ExpressionsHelper.concatenate((ExpressionTree) ((ImportTree) importClause).qualifiedIdentifier()))) {
+        return true;
+      }
+    }
+    for (Tree annotation : ScannerContextUtils.nodesOfKind(context, Tree.Kind.ANNOTATION)) {
+      if (isLombokName(ExpressionsHelper.concatenate((ExpressionTree) ((AnnotationTree) annotation).annotationType()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isLombokName(String name) {
+    return "lombok".equals(name) || name.startsWith("lombok.");
+  }
+
+  @Override
+  public void visitNode(Tree node) {
+    ClassTree tree = (ClassTree) node;
     boolean generatesEquals = usesAnnotation(tree, GENERATE_EQUALS);
 
     if (generatesEquals || usesAnnotation(tree, GENERATE_UNUSED_FIELD_RELATED_METHODS)) {
@@ -103,8 +149,6 @@ public class LombokFilter extends BaseTreeVisitorIssueFilter {
     } else {
       acceptLines(tree, UtilityClassWithPublicConstructorCheck.class);
     }
-
-    super.visitClass(tree);
   }
 
   private static boolean usesAnnotation(ClassTree classTree, List<String> annotations) {
@@ -24,12 +24,20 @@ import com.google.common.collect.ImmutableList;
 
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.api.AnalysisException;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 public class PostAnalysisIssueFilter implements JavaFileScanner, CodeVisitorIssueFilter {
 
   private static final Iterable<JavaIssueFilter> DEFAULT_ISSUE_FILTERS = ImmutableList.<JavaIssueFilter>of(
@@ -67,6 +75,16 @@ public class PostAnalysisIssueFilter implements JavaFileScanner, CodeVisitorIssu
     return chain.accept(issue);
   }
 
+  @Override
+  public boolean accept(RuleKey ruleKey, int line) {
+    for (JavaIssueFilter javaIssueFilter : getIssueFilters()) {
+      if (!javaIssueFilter.accept(ruleKey, line)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public void scanFile(JavaFileScannerContext context) {
     InputFile component = fileSystem.inputFile(fileSystem.predicates().is(context.getFile()));
@@ -74,9 +92,28 @@ public class PostAnalysisIssueFilter implements JavaFileScanner, CodeVisitorIssu
       throw new AnalysisException("Component not found: " + context.getFileKey());
     }
     String componentKey = component.key();
+    List<SubscriptionIssueFilter> subscriptionFilters = new ArrayList<>();
+    Map<Tree.Kind, List<SubscriptionIssueFilter>> filtersByKind = new EnumMap<>(Tree.Kind.class);
     for (JavaIssueFilter javaIssueFilter : getIssueFilters()) {
       javaIssueFilter.setComponentKey(componentKey);
-      javaIssueFilter.scanFile(context);
+      if (javaIssueFilter instanceof SubscriptionIssueFilter) {
+        SubscriptionIssueFilter subscriptionFilter = (SubscriptionIssueFilter) javaIssueFilter;
+        subscriptionFilters.add(subscriptionFilter);
+        if (subscriptionFilter.startFile(context)) {
+          subscriptionFilter.nodesToVisit().forEach(kind -> filtersByKind.computeIfAbsent(kind, k -> new ArrayList<>()).add(subscriptionFilter));
+        }
+      } else {
+        javaIssueFilter.scanFile(context);
+      }
+    }
+    // a single pass over the trees subscribed by any filter, instead of one traversal of the whole file per filter
+    if (!filtersByKind.isEmpty()) {
+      for (Tree tree : ScannerContextUtils.nodesOfKind(context, filtersByKind.keySet().toArray(new Tree.Kind[filtersByKind.size()]))) {
+        for (SubscriptionIssueFilter subscriptionFilter : filtersByKind.get(tree.kind())) {
+          subscriptionFilter.visitNode(tree);
+        }
+      }
     }
+    subscriptionFilters.forEach(SubscriptionIssueFilter::endFile);
   }
 }
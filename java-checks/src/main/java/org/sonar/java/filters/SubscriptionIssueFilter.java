@@ -0,0 +1,66 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.filters;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.sonar.java.model.ScannerContextUtils;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Issue filter inspecting only some kinds of trees. {@link PostAnalysisIssueFilter} visits the trees of a file once for all such filters.
+ */
+public interface SubscriptionIssueFilter extends JavaIssueFilter {
+
+  /**
+   * Kinds of class-like trees, including anonymous class bodies.
+   */
+  List<Tree.Kind> CLASS_KINDS = ImmutableList.of(Tree.Kind.CLASS, Tree.Kind.ENUM, Tree.Kind.INTERFACE, Tree.Kind.ANNOTATION_TYPE);
+
+  List<Tree.Kind> nodesToVisit();
+
+  /**
+   * Resets the filter for a new file.
+   * @return false when the filter can not filter any issue of the file, its trees are then not visited.
+   */
+  boolean startFile(JavaFileScannerContext context);
+
+  /**
+   * Called on each tree of the file having one of the kinds to visit, in document order.
+   */
+  void visitNode(Tree tree);
+
+  /**
+   * Called once all the trees of the file have been visited.
+   */
+  void endFile();
+
+  @Override
+  default void scanFile(JavaFileScannerContext context) {
+    if (startFile(context)) {
+      List<Tree.Kind> kinds = nodesToVisit();
+      for (Tree tree : ScannerContextUtils.nodesOfKind(context, kinds.toArray(new Tree.Kind[kinds.size()]))) {
+        visitNode(tree);
+      }
+    }
+    endFile();
+  }
+}
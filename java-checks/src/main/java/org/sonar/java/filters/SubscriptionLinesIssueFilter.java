@@ -19,35 +19,36 @@
  */
 package org.sonar.java.filters;
 
-import com.google.common.collect.ContiguousSet;
 import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
 
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor implements JavaIssueFilter {
+public abstract class SubscriptionLinesIssueFilter implements SubscriptionIssueFilter {
 
   private String componentKey;
-  private final Multimap<String, Integer> excludedLinesByRule;
+  // excluded lines are stored as ranges, so that excluding a whole class does not cost one entry per line
+  private final Map<String, RangeSet<Integer>> excludedLinesByRule;
   private final Map<Class<? extends JavaCheck>, String> rulesKeysByRulesClass;
 
-  public BaseTreeVisitorIssueFilter() {
-    excludedLinesByRule = HashMultimap.create();
+  public SubscriptionLinesIssueFilter() {
+    excludedLinesByRule = new HashMap<>();
     rulesKeysByRulesClass = rulesKeysByRulesClass(filteredRules());
   }
 
@@ -72,17 +73,31 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
   }
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
+  public boolean startFile(JavaFileScannerContext context) {
     excludedLinesByRule.clear();
-    scan(context.getTree());
+    return true;
+  }
+
+  @Override
+  public void endFile() {
+    // by default, lines are excluded while visiting the trees
   }
 
   @Override
   public boolean accept(FilterableIssue issue) {
-    return !(issue.componentKey().equals(componentKey) && excludedLinesByRule.get(issue.ruleKey().rule()).contains(issue.line()));
+    return !(issue.componentKey().equals(componentKey) && isExcluded(excludedLinesByRule.get(issue.ruleKey().rule()), issue.line()));
   }
 
-  public Multimap<String, Integer> excludedLinesByRule() {
+  @Override
+  public boolean accept(RuleKey ruleKey, int line) {
+    return !isExcluded(excludedLinesByRule.get(ruleKey.rule()), line);
+  }
+
+  static boolean isExcluded(@Nullable RangeSet<Integer> excludedLines, @Nullable Integer line) {
+    return excludedLines != null && line != null && excludedLines.contains(line);
+  }
+
+  public Map<String, RangeSet<Integer>> excludedLinesByRule() {
     return excludedLinesByRule;
   }
 
@@ -102,7 +117,7 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
     }
   }
 
-  public void excludeLines(Set<Integer> lines, String ruleKey) {
+  public void excludeLines(Range<Integer> lines, String ruleKey) {
     computeFilteredLinesForRule(lines, ruleKey, true);
   }
 
@@ -117,16 +132,21 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
     SyntaxToken firstSyntaxToken = tree.firstToken();
     SyntaxToken lastSyntaxToken = tree.lastToken();
     if (firstSyntaxToken != null && lastSyntaxToken != null) {
-      Set<Integer> filteredlines = ContiguousSet.create(Range.closed(firstSyntaxToken.line(), lastSyntaxToken.line()), DiscreteDomain.integers());
+      Range<Integer> filteredlines = Range.closed(firstSyntaxToken.line(), lastSyntaxToken.line());
       computeFilteredLinesForRule(filteredlines, rulesKeysByRulesClass.get(filteredRule), excludeLine);
     }
   }
 
-  private void computeFilteredLinesForRule(Set<Integer> lines, String ruleKey, boolean excludeLine) {
+  private void computeFilteredLinesForRule(Range<Integer> lines, String ruleKey, boolean excludeLine) {
+    // canonical ranges of lines are merged when adjacent: [1..3] and [4..5] are stored as [1..6)
+    Range<Integer> canonicalLines = lines.canonical(DiscreteDomain.integers());
     if (excludeLine) {
-      excludedLinesByRule.putAll(ruleKey, lines);
+      excludedLinesByRule.computeIfAbsent(ruleKey, k -> TreeRangeSet.create()).add(canonicalLines);
     } else {
-      excludedLinesByRule.get(ruleKey).removeAll(lines);
+      RangeSet<Integer> excludedLines = excludedLinesByRule.get(ruleKey);
+      if (excludedLines != null) {
+        excludedLines.remove(canonicalLines);
+      }
     }
   }
 }
@@ -19,13 +19,12 @@
  */
 package org.sonar.java.filters;
 
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableRangeSet;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
 
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
@@ -33,6 +32,7 @@ import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.check.Rule;
 import org.sonar.java.checks.SuppressWarningsCheck;
 import org.sonar.java.model.LiteralUtils;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
@@ -45,15 +45,22 @@ import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
+import javax.annotation.Nullable;
 
-  private final Map<String, Multimap<String, Integer>> excludedLinesByComponent = new HashMap<>();
+public class SuppressWarningFilter extends SubscriptionLinesIssueFilter {
+
+  private static final List<Tree.Kind> NODES_TO_VISIT = ImmutableList.<Tree.Kind>builder()
+    .addAll(CLASS_KINDS)
+    .add(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR, Tree.Kind.VARIABLE)
+    .build();
+
+  private final Map<String, Map<String, RangeSet<Integer>>> excludedLinesByComponent = new HashMap<>();
 
   private static final String SUPPRESS_WARNING_RULE_KEY = getSuppressWarningRuleKey();
 
@@ -67,28 +74,40 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
   }
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    super.scanFile(context);
-    excludedLinesByComponent.put(getComponentKey(), HashMultimap.create(excludedLinesByRule()));
+  public List<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
+
+  @Override
+  public boolean startFile(JavaFileScannerContext context) {
+    // without any annotation, there is no @SuppressWarnings to look for
+    return super.startFile(context) && !ScannerContextUtils.nodesOfKind(context, Tree.Kind.ANNOTATION).isEmpty();
+  }
+
+  @Override
+  public void endFile() {
+    Map<String, RangeSet<Integer>> excludedLinesByRule = new HashMap<>();
+    excludedLinesByRule().forEach((rule, lines) -> excludedLinesByRule.put(rule, ImmutableRangeSet.copyOf(lines)));
+    excludedLinesByComponent.put(getComponentKey(), excludedLinesByRule);
   }
 
   @Override
   public boolean accept(FilterableIssue issue) {
-    Multimap<String, Integer> excludedLinesByRule = HashMultimap.create();
-    if (excludedLinesByComponent.containsKey(issue.componentKey())) {
-      excludedLinesByRule = excludedLinesByComponent.get(issue.componentKey());
-    }
-    return !issueShouldNotBeReported(issue, excludedLinesByRule);
+    Map<String, RangeSet<Integer>> excludedLinesByRule = excludedLinesByComponent.getOrDefault(issue.componentKey(), Collections.emptyMap());
+    return !issueShouldNotBeReported(issue.ruleKey(), issue.line(), excludedLinesByRule);
   }
 
-  private static boolean issueShouldNotBeReported(FilterableIssue issue, Multimap<String, Integer> excludedLineByRule) {
-    RuleKey issueRuleKey = issue.ruleKey();
-    for (String excludedRule : excludedLineByRule.keySet()) {
-      if (("all".equals(excludedRule) || isRuleKey(excludedRule, issueRuleKey)) && !isSuppressWarningRule(issueRuleKey)) {
-        Collection<Integer> excludedLines = excludedLineByRule.get(excludedRule);
-        if (excludedLines.contains(issue.line())) {
-          return true;
-        }
+  @Override
+  public boolean accept(RuleKey ruleKey, int line) {
+    return !issueShouldNotBeReported(ruleKey, line, excludedLinesByRule());
+  }
+
+  private static boolean issueShouldNotBeReported(RuleKey issueRuleKey, @Nullable Integer line, Map<String, RangeSet<Integer>> excludedLineByRule) {
+    for (Map.Entry<String, RangeSet<Integer>> excludedRule : excludedLineByRule.entrySet()) {
+      String rule = excludedRule.getKey();
+      if (("all".equals(rule) || isRuleKey(rule, issueRuleKey)) && !isSuppressWarningRule(issueRuleKey)
+        && isExcluded(excludedRule.getValue(), line)) {
+        return true;
       }
     }
     return false;
@@ -108,21 +127,14 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    handleSuppressWarning(tree.modifiers().annotations(), tree);
-    super.visitClass(tree);
-  }
-
-  @Override
-  public void visitMethod(MethodTree tree) {
-    handleSuppressWarning(tree.modifiers().annotations(), tree);
-    super.visitMethod(tree);
-  }
-
-  @Override
-  public void visitVariable(VariableTree tree) {
-    handleSuppressWarning(tree.modifiers().annotations(), tree);
-    super.visitVariable(tree);
+  public void visitNode(Tree tree) {
+    if (tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
+      handleSuppressWarning(((MethodTree) tree).modifiers().annotations(), tree);
+    } else if (tree.is(Tree.Kind.VARIABLE)) {
+      handleSuppressWarning(((VariableTree) tree).modifiers().annotations(), tree);
+    } else {
+      handleSuppressWarning(((ClassTree) tree).modifiers().annotations(), tree);
+    }
   }
 
   private void handleSuppressWarning(List<AnnotationTree> annotationTrees, Tree tree) {
@@ -138,7 +150,7 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
 
     if (startLine != -1) {
       int endLine = tree.lastToken().line();
-      Set<Integer> filteredlines = ContiguousSet.create(Range.closed(startLine, endLine), DiscreteDomain.integers());
+      Range<Integer> filteredlines = Range.closed(startLine, endLine);
       for (String rule : rules) {
         excludeLines(filteredlines, rule);
       }
@@ -16,3 +16,10 @@ class aClass {
 class AnotherClass {
   static AnotherClass anotherClass; //compliant for singletons
 }
+class Outer {
+  int outer; // Noncompliant
+  class Inner {
+    int inner; // Noncompliant
+  }
+  int OUTER; // not checked after a nested class
+}
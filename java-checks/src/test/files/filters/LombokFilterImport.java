@@ -0,0 +1,8 @@
+import lombok.Getter;
+
+class Fields {
+  @Getter
+  class WithGetter {
+    private int foo;
+  }
+}
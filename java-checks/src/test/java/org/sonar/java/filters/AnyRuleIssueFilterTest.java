@@ -19,8 +19,10 @@
  */
 package org.sonar.java.filters;
 
+import com.google.common.collect.ImmutableList;
 import java.io.File;
 import java.util.Collections;
+import java.util.List;
 import javax.annotation.Nullable;
 import org.assertj.core.api.AbstractBooleanAssert;
 import org.junit.Before;
@@ -60,6 +62,15 @@ public class AnyRuleIssueFilterTest {
   @Test
   public void any_rule_filter_does_not_requires_rules() {
     assertThat(new AnyRuleIssueFilter() {
+      @Override
+      public List<Tree.Kind> nodesToVisit() {
+        return ImmutableList.of();
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        // no effect
+      }
     }.filteredRules()).isEmpty();
   }
 
@@ -138,12 +149,16 @@ public class AnyRuleIssueFilterTest {
   private static class AnyRuleOnVariableIssueFilter extends AnyRuleIssueFilter {
 
     @Override
-    public void visitVariable(VariableTree tree) {
+    public List<Tree.Kind> nodesToVisit() {
+      return ImmutableList.of(Tree.Kind.VARIABLE);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
       // filter issues on variable with name starting by "field"
-      if (tree.simpleName().identifierToken().text().toLowerCase().startsWith("field")) {
+      if (((VariableTree) tree).simpleName().identifierToken().text().toLowerCase().startsWith("field")) {
         excludeLines(tree);
       }
-      super.visitVariable(tree);
     }
   }
 
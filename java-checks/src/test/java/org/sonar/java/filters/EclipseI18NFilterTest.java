@@ -21,6 +21,8 @@ package org.sonar.java.filters;
 
 import org.junit.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class EclipseI18NFilterTest {
 
   @Test
@@ -28,4 +30,10 @@ public class EclipseI18NFilterTest {
     FilterVerifier.verify("src/test/files/filters/EclipseI18NFilter.java", new EclipseI18NFilter());
   }
 
+  @Test
+  public void files_without_subclasses_are_not_visited() {
+    assertThat(FilterVerifier.visitsFile("src/test/files/filters/EclipseI18NFilter.java", new EclipseI18NFilter())).isTrue();
+    assertThat(FilterVerifier.visitsFile("src/test/files/filters/AnyRuleIssueFilter.java", new EclipseI18NFilter())).isFalse();
+  }
+
 }
@@ -34,6 +34,7 @@ import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.model.VisitorsBridgeForTests;
 import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.api.CodeVisitor;
@@ -81,6 +82,13 @@ public class FilterVerifier {
       when(issue.componentKey()).thenReturn(filename);
       when(issue.line()).thenReturn(issueLine);
 
+      if (issueLine != null) {
+        // filters answer the same when checks ask about an issue before raising it
+        assertThat(filter.accept(issue.ruleKey(), issueLine))
+          .overridingErrorMessage("Line #" + issueLine + ": filtering issue of rule '" + ruleKey + "' before reporting it does not match post-analysis filtering")
+          .isEqualTo(filter.accept(issue));
+      }
+
       if (issueCollector.rejectedIssuesLines.contains(issueLine)) {
 
         assertThat(filter.accept(issue))
@@ -108,6 +116,16 @@ public class FilterVerifier {
     }
   }
 
+  /**
+   * @return true if the filter has to visit the trees of the given file
+   */
+  public static boolean visitsFile(String filename, SubscriptionIssueFilter filter) {
+    boolean[] started = {false};
+    JavaFileScanner scanner = context -> started[0] = filter.startFile(context);
+    JavaAstScanner.scanSingleFileForTests(new File(filename), new VisitorsBridgeForTests(Collections.singletonList(scanner), Collections.emptyList(), null));
+    return started[0];
+  }
+
   private static Set<JavaCheck> instantiateRules(Set<Class<? extends JavaCheck>> filteredRules) {
     Set<JavaCheck> rules = new HashSet<>();
     for (Class<? extends JavaCheck> rule : filteredRules) {
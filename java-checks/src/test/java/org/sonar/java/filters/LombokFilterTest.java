@@ -21,10 +21,19 @@ package org.sonar.java.filters;
 
 import org.junit.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class LombokFilterTest {
 
   @Test
   public void test() {
     FilterVerifier.verify("src/test/files/filters/LombokFilter.java", new LombokFilter());
   }
+
+  @Test
+  public void files_without_lombok_are_not_visited() {
+    assertThat(FilterVerifier.visitsFile("src/test/files/filters/LombokFilter.java", new LombokFilter())).isTrue();
+    assertThat(FilterVerifier.visitsFile("src/test/files/filters/LombokFilterImport.java", new LombokFilter())).isTrue();
+    assertThat(FilterVerifier.visitsFile("src/test/files/filters/EclipseI18NFilter.java", new LombokFilter())).isFalse();
+  }
 }
@@ -29,18 +29,26 @@ import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultFileSystem;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.api.AnalysisException;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PostAnalysisIssueFilterTest {
@@ -50,7 +58,7 @@ public class PostAnalysisIssueFilterTest {
 
   private static final String FILE_KEY = "PostAnalysisIssueFilter.java";
   private static final String MODULE_BASE_DIR = "src/test/files/filters";
-  private static JavaFileScannerContext context;
+  private static DefaultJavaFileScannerContext context;
   private PostAnalysisIssueFilter postAnalysisIssueFilter;
   private static final ArrayList<FakeJavaIssueFilter> ISSUE_FILTERS = Lists.newArrayList(new FakeJavaIssueFilter(true), new FakeJavaIssueFilter(false));
 
@@ -64,7 +72,7 @@ public class PostAnalysisIssueFilterTest {
     fileSystem.add(inputFile);
     postAnalysisIssueFilter = new PostAnalysisIssueFilter(fileSystem);
 
-    context = mock(JavaFileScannerContext.class);
+    context = mock(DefaultJavaFileScannerContext.class);
     when(context.getFile()).thenReturn(inputFile.file());
     when(context.getFileKey()).thenReturn(inputFile.key());
   }
@@ -95,6 +103,16 @@ public class PostAnalysisIssueFilterTest {
     assertThat(postAnalysisIssueFilter.accept(issue, chain)).isFalse();
   }
 
+  @Test
+  public void issue_on_line_is_rejected_if_any_issue_filter_rejects_it() {
+    RuleKey ruleKey = RuleKey.of("squid", "S42");
+    postAnalysisIssueFilter.setIssueFilters(ISSUE_FILTERS);
+    assertThat(postAnalysisIssueFilter.accept(ruleKey, 12)).isFalse();
+
+    postAnalysisIssueFilter.setIssueFilters(Lists.newArrayList(new FakeJavaIssueFilter(true)));
+    assertThat(postAnalysisIssueFilter.accept(ruleKey, 12)).isTrue();
+  }
+
   @Test
   public void issue_filter_should_set_componentKey_and_scan_every_filter() {
     postAnalysisIssueFilter.setIssueFilters(ISSUE_FILTERS);
@@ -106,6 +124,30 @@ public class PostAnalysisIssueFilterTest {
     }
   }
 
+  @Test
+  public void subscription_filters_share_a_single_pass_over_subscribed_trees() {
+    Tree classTree = mock(Tree.class);
+    when(classTree.kind()).thenReturn(Tree.Kind.CLASS);
+    Tree variableTree = mock(Tree.class);
+    when(variableTree.kind()).thenReturn(Tree.Kind.VARIABLE);
+    when(context.nodesOfKind(Tree.Kind.CLASS, Tree.Kind.VARIABLE)).thenReturn(Arrays.asList(classTree, variableTree));
+
+    FakeSubscriptionIssueFilter onClasses = new FakeSubscriptionIssueFilter(true, Tree.Kind.CLASS);
+    FakeSubscriptionIssueFilter onVariables = new FakeSubscriptionIssueFilter(true, Tree.Kind.VARIABLE);
+    FakeSubscriptionIssueFilter skipped = new FakeSubscriptionIssueFilter(false, Tree.Kind.CLASS);
+    postAnalysisIssueFilter.setIssueFilters(Arrays.asList(onClasses, onVariables, skipped));
+    postAnalysisIssueFilter.scanFile(context);
+
+    verify(context, times(1)).nodesOfKind(Tree.Kind.CLASS, Tree.Kind.VARIABLE);
+    assertThat(onClasses.visited).containsExactly(classTree);
+    assertThat(onVariables.visited).containsExactly(variableTree);
+    assertThat(skipped.visited).isEmpty();
+    for (FakeSubscriptionIssueFilter filter : Arrays.asList(onClasses, onVariables, skipped)) {
+      assertThat(((FakeJavaIssueFilter) filter).componentKey).isEqualTo(":PostAnalysisIssueFilter.java");
+      assertThat(filter.ended).isTrue();
+    }
+  }
+
   @Test
   public void missing_component_trigger_Exception() {
     thrown.expect(AnalysisException.class);
@@ -141,10 +183,54 @@ public class PostAnalysisIssueFilterTest {
       return accepted;
     }
 
+    @Override
+    public boolean accept(RuleKey ruleKey, int line) {
+      return accepted;
+    }
+
     @Override
     public Set<Class<? extends JavaCheck>> filteredRules() {
       return null;
     }
   }
 
+  private static class FakeSubscriptionIssueFilter extends FakeJavaIssueFilter implements SubscriptionIssueFilter {
+
+    private final boolean started;
+    private final Tree.Kind kind;
+    private final List<Tree> visited = new ArrayList<>();
+    private boolean ended = false;
+
+    FakeSubscriptionIssueFilter(boolean started, Tree.Kind kind) {
+      super(true);
+      this.started = started;
+      this.kind = kind;
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return Collections.singletonList(kind);
+    }
+
+    @Override
+    public boolean startFile(JavaFileScannerContext context) {
+      return started;
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      visited.add(tree);
+    }
+
+    @Override
+    public void endFile() {
+      ended = true;
+    }
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      SubscriptionIssueFilter.super.scanFile(context);
+    }
+  }
+
 }
@@ -19,8 +19,10 @@
  */
 package org.sonar.java.filters;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
 
 import org.assertj.core.api.AbstractBooleanAssert;
 import org.junit.Before;
@@ -33,25 +35,26 @@ import org.sonar.java.model.VisitorsBridgeForTests;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
-import org.sonar.plugins.java.api.tree.VariableTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.Nullable;
 
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-public class BaseTreeVisitorIssueFilterTest {
+public class SubscriptionLinesIssueFilterTest {
 
   private static final String REPOSITORY_KEY = "octopus";
   private static final String COMPONENT_KEY = "test:test.MyTest";
   private static final String RULE_KEY = "S42";
-  private BaseTreeVisitorIssueFilter filter;
+  private SubscriptionLinesIssueFilter filter;
   private FilterableIssue issue;
 
   @Before
@@ -99,26 +102,72 @@ public class BaseTreeVisitorIssueFilterTest {
 
   @Test
   public void excluded_lines_are_correct() {
-    Multimap<String, Integer> excludedLinesByRule = filter.excludedLinesByRule();
+    Map<String, RangeSet<Integer>> excludedLinesByRule = filter.excludedLinesByRule();
     assertThat(excludedLinesByRule).isNotNull();
     assertThat(excludedLinesByRule.isEmpty()).isFalse();
     assertThat(excludedLinesByRule.keySet()).containsOnly(RULE_KEY);
-    assertThat(excludedLinesByRule.get(RULE_KEY)).containsOnly(3, 4, 5, 6, 7, 8, 9, 10, 11, 15);
+    // lines 3 to 11 and line 15
+    assertThat(excludedLinesByRule.get(RULE_KEY).asRanges()).containsExactly(Range.closedOpen(3, 12), Range.closedOpen(15, 16));
+  }
+
+  @Test
+  public void accepted_lines_split_excluded_ranges() {
+    filter = new SubscriptionLinesIssueFilter() {
+      @Override
+      public Set<Class<? extends JavaCheck>> filteredRules() {
+        return ImmutableSet.of(FakeRule.class);
+      }
+
+      @Override
+      public List<Tree.Kind> nodesToVisit() {
+        return CLASS_KINDS;
+      }
+
+      @Override
+      public void visitNode(Tree node) {
+        ClassTree tree = (ClassTree) node;
+        if (tree.simpleName() != null && "A".equals(tree.simpleName().name())) {
+          excludeLines(Range.closed(1, 20), RULE_KEY);
+          // class name is on line 3
+          acceptLines(tree.simpleName(), FakeRule.class);
+          excludeLines(Range.closed(21, 25), RULE_KEY);
+          excludeLines(Range.closed(30, 30), "other");
+        }
+      }
+    };
+    scanFile(filter);
+
+    RangeSet<Integer> excludedLines = filter.excludedLinesByRule().get(RULE_KEY);
+    assertThat(excludedLines.asRanges()).containsExactly(Range.closedOpen(1, 3), Range.closedOpen(4, 26));
+    assertThat(excludedLines.contains(3)).isFalse();
+    assertThat(excludedLines.contains(25)).isTrue();
+    assertThat(excludedLines.contains(26)).isFalse();
+    assertThat(filter.excludedLinesByRule().get("other").contains(30)).isTrue();
   }
 
   @Test
   public void excluded_lines_by_rule_never_returns_null() {
     // no effect filter
-    filter = new BaseTreeVisitorIssueFilter() {
+    filter = new SubscriptionLinesIssueFilter() {
       @Override
       public Set<Class<? extends JavaCheck>> filteredRules() {
         return ImmutableSet.of();
       }
+
+      @Override
+      public List<Tree.Kind> nodesToVisit() {
+        return ImmutableList.of();
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        // no effect
+      }
     };
     // no component is set
     scanFile(filter);
 
-    Multimap<String, Integer> excludedLinesByRule = filter.excludedLinesByRule();
+    Map<String, RangeSet<Integer>> excludedLinesByRule = filter.excludedLinesByRule();
     assertThat(excludedLinesByRule).isNotNull();
     assertThat(excludedLinesByRule.isEmpty()).isTrue();
   }
@@ -145,20 +194,27 @@ public class BaseTreeVisitorIssueFilterTest {
     return assertThat(filter.accept(issue));
   }
 
-  private static class FakeJavaIssueFilterOnClassAndVariable extends BaseTreeVisitorIssueFilter {
+  private static class FakeJavaIssueFilterOnClassAndVariable extends SubscriptionLinesIssueFilter {
     @Override
     public Set<Class<? extends JavaCheck>> filteredRules() {
       return ImmutableSet.<Class<? extends JavaCheck>>of(FakeRule.class, FakeRuleWithoutKey.class);
     }
 
     @Override
-    public void visitVariable(VariableTree tree) {
-      excludeLines(tree, FakeRule.class);
-      super.visitVariable(tree);
+    public List<Tree.Kind> nodesToVisit() {
+      return ImmutableList.<Tree.Kind>builder().addAll(CLASS_KINDS).add(Tree.Kind.VARIABLE).build();
     }
 
     @Override
-    public void visitClass(ClassTree tree) {
+    public void visitNode(Tree tree) {
+      if (tree.is(Tree.Kind.VARIABLE)) {
+        excludeLines(tree, FakeRule.class);
+      } else {
+        visitClass((ClassTree) tree);
+      }
+    }
+
+    private void visitClass(ClassTree tree) {
       IdentifierTree simpleName = tree.simpleName();
       if (simpleName == null) {
         // force check on null tree
@@ -168,7 +224,6 @@ public class BaseTreeVisitorIssueFilterTest {
       } else {
         excludeLines(simpleName, FakeRule.class);
       }
-      super.visitClass(tree);
     }
   }
 
@@ -181,6 +236,6 @@ public class BaseTreeVisitorIssueFilterTest {
 
   private static void scanFile(JavaIssueFilter filter) {
     VisitorsBridgeForTests visitorsBridge = new VisitorsBridgeForTests(Collections.singletonList(filter), Collections.emptyList(), null);
-    JavaAstScanner.scanSingleFileForTests(new File("src/test/files/filters/BaseTreeVisitorIssueFilter.java"), visitorsBridge);
+    JavaAstScanner.scanSingleFileForTests(new File("src/test/files/filters/SubscriptionLinesIssueFilter.java"), visitorsBridge);
   }
 }
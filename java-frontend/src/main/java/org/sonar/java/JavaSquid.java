@@ -86,6 +86,7 @@ public class JavaSquid {
         );
         testCodeVisitors.add(new SyntaxHighlighterVisitor(sonarComponents));
       }
+      sonarComponents.setIssueFilter(postAnalysisIssueFilter);
       classpath = sonarComponents.getJavaClasspath();
       testClasspath = sonarComponents.getJavaTestClasspath();
       testCodeVisitors.addAll(sonarComponents.testCheckClasses());
@@ -25,12 +25,13 @@ import com.google.common.collect.Lists;
 import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.SonarProduct;
 import org.sonar.api.batch.ScannerSide;
@@ -45,6 +46,7 @@ import org.sonar.api.batch.sensor.symbol.NewSymbolTable;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.rule.RuleKey;
+import org.sonar.java.filters.CodeVisitorIssueFilter;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.squidbridge.api.AnalysisException;
@@ -55,6 +57,12 @@ import org.sonarsource.api.sonarlint.SonarLintSide;
 @SonarLintSide
 public class SonarComponents {
 
+  /**
+   * Files with more lines than this threshold get a reduced analysis: no semantic model and no symbolic execution.
+   */
+  public static final String LARGE_FILE_THRESHOLD_KEY = "sonar.java.largeFileThreshold";
+  public static final int DEFAULT_LARGE_FILE_THRESHOLD = 50_000;
+
   private final FileLinesContextFactory fileLinesContextFactory;
   private final JavaTestClasspath javaTestClasspath;
   private final CheckFactory checkFactory;
@@ -63,7 +71,11 @@ public class SonarComponents {
   private final List<Checks<JavaCheck>> checks;
   private final List<Checks<JavaCheck>> testChecks;
   private final List<Checks<JavaCheck>> allChecks;
+  // rule keys by check instance, filled on first lookup of each check and reset when checks are registered
+  private final Map<JavaCheck, Optional<RuleKey>> ruleKeys = new IdentityHashMap<>();
   private SensorContext context;
+  @Nullable
+  private CodeVisitorIssueFilter issueFilter;
 
   public SonarComponents(FileLinesContextFactory fileLinesContextFactory, FileSystem fs,
     JavaClasspath javaClasspath, JavaTestClasspath javaTestClasspath,
@@ -98,6 +110,13 @@ public class SonarComponents {
     this.context = context;
   }
 
+  /**
+   * Registers the issue filter which has visited the file being analyzed, to answer {@link #isIssueSuppressed(JavaCheck, int)}.
+   */
+  public void setIssueFilter(@Nullable CodeVisitorIssueFilter issueFilter) {
+    this.issueFilter = issueFilter;
+  }
+
   public InputFile inputFromIOFile(File file) {
     return fs.inputFile(fs.predicates().is(file));
   }
@@ -106,12 +125,28 @@ public class SonarComponents {
     return inputFromIOFile(file).lines();
   }
 
+  /**
+   * @return number of lines above which a file is analyzed without semantic model nor symbolic execution, 0 if there is no limit
+   */
+  public int largeFileThreshold() {
+    return context.config().getInt(LARGE_FILE_THRESHOLD_KEY).orElse(DEFAULT_LARGE_FILE_THRESHOLD);
+  }
+
+  public boolean isLargeFile(File file) {
+    int threshold = largeFileThreshold();
+    if (threshold <= 0) {
+      return false;
+    }
+    InputFile inputFile = inputFromIOFile(file);
+    return inputFile != null && inputFile.lines() > threshold;
+  }
+
   private InputPath inputPathFromIOFile(File file) {
-    if (file.isDirectory()) {
+    InputFile inputFile = inputFromIOFile(file);
+    if (inputFile == null && file.isDirectory()) {
       return fs.inputDir(file);
-    } else {
-      return inputFromIOFile(file);
     }
+    return inputFile;
   }
 
   public FileLinesContext fileLinesContextFor(File file) {
@@ -142,6 +177,7 @@ public class SonarComponents {
     Checks<JavaCheck> createdChecks = checkFactory.<JavaCheck>create(repositoryKey).addAnnotatedChecks(checkClasses);
     checks.add(createdChecks);
     allChecks.add(createdChecks);
+    ruleKeys.clear();
   }
 
   public CodeVisitor[] checkClasses() {
@@ -156,6 +192,7 @@ public class SonarComponents {
     Checks<JavaCheck> createdChecks = checkFactory.<JavaCheck>create(repositoryKey).addAnnotatedChecks(checkClasses);
     testChecks.add(createdChecks);
     allChecks.add(createdChecks);
+    ruleKeys.clear();
   }
 
   public Collection<JavaCheck> testCheckClasses() {
@@ -173,14 +210,28 @@ public class SonarComponents {
     return fs;
   }
 
+  @CheckForNull
   public RuleKey getRuleKey(JavaCheck check) {
+    return ruleKeys.computeIfAbsent(check, this::findRuleKey).orElse(null);
+  }
+
+  private Optional<RuleKey> findRuleKey(JavaCheck check) {
     for (Checks<JavaCheck> sonarChecks : checks()) {
       RuleKey ruleKey = sonarChecks.ruleKey(check);
       if (ruleKey != null) {
-        return ruleKey;
+        return Optional.of(ruleKey);
       }
     }
-    return null;
+    return Optional.empty();
+  }
+
+  /**
+   * @return true if an issue of the given check on the given line of the file being analyzed would not be reported,
+   * either because the check has no active rule or because the issue filter drops it.
+   */
+  public boolean isIssueSuppressed(JavaCheck check, int line) {
+    RuleKey key = getRuleKey(check);
+    return key == null || (issueFilter != null && !issueFilter.accept(key, line));
   }
 
   public void addIssue(File file, JavaCheck check, int line, String message, @Nullable Integer cost) {
@@ -218,7 +269,7 @@ public class SonarComponents {
       }
       issue.setPrimaryLocation((InputFile) inputPath, analyzerMessage.getMessage(), textSpan.startLine, textSpan.startCharacter, textSpan.endLine, textSpan.endCharacter);
     }
-    issue.addFlow(inputFromIOFile(analyzerMessage.getFile()), analyzerMessage.flows).save();
+    issue.addFlow(inputPath instanceof InputFile ? (InputFile) inputPath : inputFromIOFile(analyzerMessage.getFile()), analyzerMessage.flows).save();
   }
 
   public boolean reportAnalysisError(RecognitionException re, File file) {
@@ -242,23 +293,7 @@ public class SonarComponents {
   }
 
   public List<String> fileLines(File file) {
-    List<String> lines = new ArrayList<>();
-    try(Scanner scanner = new Scanner(getInputStream(file), getCharset(file).name())) {
-      while (scanner.hasNextLine()) {
-        lines.add(scanner.nextLine());
-      }
-    } catch (IOException e) {
-      throw new AnalysisException("Unable to read file "+file, e);
-    }
-    return lines;
-  }
-
-  private InputStream getInputStream(File file) throws IOException {
-    return inputFromIOFile(file).inputStream();
-  }
-
-  private Charset getCharset(File file) {
-    return inputFromIOFile(file).charset();
+    return SourceLines.lines(fileContent(file));
   }
 
   public boolean analysisCancelled() {
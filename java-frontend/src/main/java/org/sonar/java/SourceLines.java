@@ -0,0 +1,58 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the lines of a source file from its already read content, instead of reading and decoding the file again.
+ */
+final class SourceLines {
+
+  private SourceLines() {
+    // utility class
+  }
+
+  /**
+   * Splits content in lines, the same way as {@link java.util.Scanner#nextLine()}: lines are separated by
+   * {@code \r\n}, {@code \n}, {@code \r}, {@code \u2028}, {@code \u2029} or {@code \u0085}, and there is no last empty line.
+   */
+  static List<String> lines(String content) {
+    List<String> lines = new ArrayList<>();
+    int lineStart = 0;
+    int length = content.length();
+    for (int i = 0; i < length; i++) {
+      char c = content.charAt(i);
+      if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+        lines.add(content.substring(lineStart, i));
+        if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+          i++;
+        }
+        lineStart = i + 1;
+      }
+    }
+    if (lineStart < length) {
+      lines.add(content.substring(lineStart));
+    }
+    return lines;
+  }
+
+}
@@ -39,6 +39,10 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 public class JavaAstScanner {
@@ -54,22 +58,28 @@ public class JavaAstScanner {
   }
 
   public void scan(Iterable<File> files) {
+    List<File> filesToScan = Lists.newArrayList(files);
     ProgressReport progressReport = new ProgressReport("Report about progress of Java AST analyzer", TimeUnit.SECONDS.toMillis(10));
-    progressReport.start(Lists.newArrayList(files));
+    progressReport.start(filesToScan);
 
     boolean successfullyCompleted = false;
     boolean cancelled = false;
+    ParsingStage parsingStage = new ParsingStage(filesToScan);
+    Thread parsingThread = new Thread(parsingStage, "Java AST parser");
+    parsingThread.setDaemon(true);
+    parsingThread.start();
     try {
-      for (File file : files) {
+      for (int i = 0; i < filesToScan.size(); i++) {
         if (analysisCancelled()) {
           cancelled = true;
           break;
         }
-        simpleScan(file);
+        simpleScan(parsingStage.next());
         progressReport.nextFile();
       }
       successfullyCompleted = !cancelled;
     } finally {
+      parsingStage.stop(parsingThread);
       if (successfullyCompleted) {
         progressReport.stop();
       } else {
@@ -83,17 +93,11 @@ public class JavaAstScanner {
     return sonarComponents != null && sonarComponents.analysisCancelled();
   }
 
-  private void simpleScan(File file) {
+  private void simpleScan(ParsedFile parsedFile) {
+    File file = parsedFile.file;
     visitor.setCurrentFile(file);
     try {
-      String fileContent = getFileContent(file);
-      Tree ast;
-      if(fileContent.isEmpty()) {
-        ast = parser.parse(file);
-      } else {
-        ast = parser.parse(fileContent);
-      }
-      visitor.visitFile(ast);
+      visitor.visitFile(parsedFile.tree());
     } catch (RecognitionException e) {
       checkInterrupted(e);
       LOG.error("Unable to parse source file : " + file.getAbsolutePath());
@@ -109,6 +113,148 @@ public class JavaAstScanner {
     }
   }
 
+  /**
+   * @return the syntax tree of the file, or null when the file is too deeply nested to be parsed
+   */
+  @Nullable
+  private Tree parse(File file, String fileContent) {
+    try {
+      if(fileContent.isEmpty()) {
+        return parser.parse(file);
+      }
+      return parser.parse(fileContent);
+    } catch (StackOverflowError error) {
+      LOG.error("A stack overflow error occured while parsing file: " + file.getAbsolutePath() + ", only file level rules will be applied");
+      return null;
+    }
+  }
+
+  /**
+   * Parses the files ahead of their analysis, in their analysis order, on its own thread.
+   * At most {@link #QUEUE_CAPACITY} parsed files wait for their analysis, which bounds the number of trees in memory.
+   * The content of the files is read by the analysis thread, a few files ahead, as {@link SonarComponents} is not thread-safe:
+   * the parsing thread only gets the content to parse.
+   */
+  private class ParsingStage implements Runnable {
+    private static final int QUEUE_CAPACITY = 2;
+
+    private final List<File> files;
+    private final BlockingQueue<SourceFile> sourceFiles = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ParsedFile> parsedFiles = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private int readFiles = 0;
+    private int analyzedFiles = 0;
+    private volatile boolean stopped = false;
+
+    ParsingStage(List<File> files) {
+      this.files = files;
+    }
+
+    @Override
+    public void run() {
+      try {
+        for (int i = 0; i < files.size(); i++) {
+          SourceFile sourceFile = sourceFiles.take();
+          if (stopped) {
+            return;
+          }
+          parsedFiles.put(parseFile(sourceFile));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private ParsedFile parseFile(SourceFile sourceFile) {
+      if (sourceFile.failure != null) {
+        return new ParsedFile(sourceFile.file, null, sourceFile.failure);
+      }
+      try {
+        return new ParsedFile(sourceFile.file, parse(sourceFile.file, sourceFile.content), null);
+      } catch (RuntimeException | Error e) {
+        // reported in order by the analysis, as if the file was parsed by the analysis thread
+        return new ParsedFile(sourceFile.file, null, e);
+      }
+    }
+
+    ParsedFile next() {
+      // read this file and the ones which can be parsed during its analysis: the ones filling the queue, and the one being parsed
+      int filesToRead = Math.min(files.size(), analyzedFiles + QUEUE_CAPACITY + 2);
+      while (readFiles < filesToRead) {
+        sourceFiles.add(readFile(files.get(readFiles)));
+        readFiles++;
+      }
+      analyzedFiles++;
+      try {
+        return parsedFiles.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AnalysisException("Analysis cancelled", e);
+      }
+    }
+
+    private SourceFile readFile(File file) {
+      try {
+        return new SourceFile(file, getFileContent(file), null);
+      } catch (RuntimeException e) {
+        // reported in order by the analysis, like a parsing failure
+        return new SourceFile(file, null, e);
+      }
+    }
+
+    void stop(Thread parsingThread) {
+      stopped = true;
+      parsingThread.interrupt();
+      try {
+        // the parser is not thread-safe, it can only be used by another scan once this one is over
+        parsingThread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static class SourceFile {
+    private final File file;
+    @Nullable
+    private final String content;
+    @Nullable
+    private final RuntimeException failure;
+
+    SourceFile(File file, @Nullable String content, @Nullable RuntimeException failure) {
+      this.file = file;
+      this.content = content;
+      this.failure = failure;
+    }
+  }
+
+  private static class ParsedFile {
+    private final File file;
+    @Nullable
+    private final Tree tree;
+    @Nullable
+    private final Throwable failure;
+
+    ParsedFile(File file, @Nullable Tree tree, @Nullable Throwable failure) {
+      this.file = file;
+      this.tree = tree;
+      this.failure = failure;
+    }
+
+    /**
+     * @throws RuntimeException or Error when the file could not be parsed
+     */
+    @Nullable
+    Tree tree() {
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      return tree;
+    }
+  }
+
   private String getFileContent(File file) {
     if(sonarComponents == null) {
       return "";
@@ -33,10 +33,24 @@ import org.sonar.java.model.InternalSyntaxTrivia;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
+import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.List;
 
 public class JavaNodeBuilder implements NodeBuilder {
 
+  private final LexemeTable lexemeTable = new LexemeTable();
+  @Nullable
+  private Input currentInput;
+
+  /**
+   * Releases the input and the lexemes of the last parsed file, so that they do not stay in memory as long as the parser.
+   */
+  void endOfInput() {
+    lexemeTable.clear();
+    currentInput = null;
+  }
+
   @Override
   public Object createNonTerminal(GrammarRuleKey ruleKey, Rule rule, List<Object> children, int startIndex, int endIndex) {
     for (Object child : children) {
@@ -58,7 +72,11 @@ public class JavaNodeBuilder implements NodeBuilder {
   }
 
   private static List<SyntaxTrivia> createTrivias(List<Trivia> trivias) {
-    List<SyntaxTrivia> result = Lists.newArrayList();
+    if (trivias.isEmpty()) {
+      // most tokens have no trivia
+      return Collections.emptyList();
+    }
+    List<SyntaxTrivia> result = Lists.newArrayListWithCapacity(trivias.size());
     for (Trivia trivia : trivias) {
       Token trivialToken = trivia.getToken();
       result.add(InternalSyntaxTrivia.create(trivialToken.getValue(), trivialToken.getLine(), trivialToken.getColumn()));
@@ -66,9 +84,14 @@ public class JavaNodeBuilder implements NodeBuilder {
     return result;
   }
 
-  private static LineColumnValue tokenPosition(Input input, int startIndex, int endIndex) {
+  private LineColumnValue tokenPosition(Input input, int startIndex, int endIndex) {
+    if (input != currentInput) {
+      // lexemes are only shared within a file
+      lexemeTable.clear();
+      currentInput = input;
+    }
     int[] lineAndColumn = input.lineAndColumnAt(startIndex);
-    String value = input.substring(startIndex, endIndex);
+    String value = lexemeTable.lexeme(input.input(), startIndex, endIndex);
     return new LineColumnValue(lineAndColumn[0], lineAndColumn[1] - 1, value);
   }
 
@@ -20,21 +20,31 @@
 package org.sonar.java.ast.parser;
 
 import com.sonar.sslr.api.typed.ActionParser;
+import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.TreeKindIndex;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.sslr.grammar.LexerlessGrammarBuilder;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
-import java.util.LinkedList;
+import java.util.List;
 
 public class JavaParser extends ActionParser<Tree> {
-  private Deque<JavaTree> parentList = new LinkedList<>();
+  /**
+   * Work stack reused from one file to the next: it keeps the capacity needed by the largest file parsed so far.
+   * Instances are therefore not thread-safe, each parsing thread needs its own parser.
+   */
+  private final Deque<JavaTree> parentList = new ArrayDeque<>();
+  private final JavaNodeBuilder javaNodeBuilder;
 
   private JavaParser(LexerlessGrammarBuilder grammarBuilder, Class<JavaGrammar> javaGrammarClass,
     TreeFactory treeFactory, JavaNodeBuilder javaNodeBuilder, JavaLexer compilationUnit) {
     super(StandardCharsets.UTF_8, grammarBuilder, javaGrammarClass, treeFactory, javaNodeBuilder, compilationUnit);
+    this.javaNodeBuilder = javaNodeBuilder;
   }
 
   public static ActionParser<Tree> createParser() {
@@ -47,28 +57,53 @@ public class JavaParser extends ActionParser<Tree> {
 
   @Override
   public Tree parse(File file) {
-    return createParentLink((JavaTree) super.parse(file));
+    try {
+      return createParentLink((JavaTree) super.parse(file));
+    } finally {
+      javaNodeBuilder.endOfInput();
+    }
   }
 
   @Override
   public Tree parse(String source) {
-    return createParentLink((JavaTree) super.parse(source));
+    try {
+      return createParentLink((JavaTree) super.parse(source));
+    } finally {
+      javaNodeBuilder.endOfInput();
+    }
   }
 
+  /**
+   * Single pass over the freshly parsed tree, in document order: links every node to its parent and, for compilation units,
+   * records the typed trees, so that missing types can later be completed without walking the tree again, as well as
+   * the nodes of each kind.
+   */
   private Tree createParentLink(JavaTree topParent) {
+    List<AbstractTypedTree> typedTrees = new ArrayList<>();
+    TreeKindIndex kindIndex = new TreeKindIndex();
+    // the stack can only be left non-empty by an error thrown during the previous pass
+    parentList.clear();
     parentList.push(topParent);
     while (!parentList.isEmpty()) {
       JavaTree parent = parentList.pop();
+      kindIndex.add(parent);
+      if (parent instanceof AbstractTypedTree) {
+        typedTrees.add((AbstractTypedTree) parent);
+      }
       if (!parent.isLeaf()) {
-        for (Tree nextTree : parent.getChildren()) {
-          JavaTree next = (JavaTree) nextTree;
-          if (next != null) {
-            next.setParent(parent);
-            parentList.push(next);
-          }
+        List<Tree> children = parent.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--) {
+          JavaTree next = (JavaTree) children.get(i);
+          next.setParent(parent);
+          parentList.push(next);
         }
       }
     }
+    if (topParent.is(Tree.Kind.COMPILATION_UNIT)) {
+      JavaTree.CompilationUnitTreeImpl compilationUnit = (JavaTree.CompilationUnitTreeImpl) topParent;
+      compilationUnit.setTypedTrees(typedTrees);
+      compilationUnit.setKindIndex(kindIndex);
+    }
     return topParent;
   }
 }
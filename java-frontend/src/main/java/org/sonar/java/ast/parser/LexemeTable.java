@@ -0,0 +1,112 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.parser;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing table of the token values of a source file: tokens spelling the same text
+ * (keywords, punctuators, repeated identifiers) share a single {@link String} instance, which is created
+ * directly from the source buffer only the first time the text is seen.
+ */
+final class LexemeTable {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private String[] lexemes = new String[INITIAL_CAPACITY];
+  private int size = 0;
+
+  String lexeme(char[] chars, int start, int end) {
+    int mask = lexemes.length - 1;
+    int index = hash(chars, start, end) & mask;
+    String lexeme = lexemes[index];
+    while (lexeme != null) {
+      if (sameText(lexeme, chars, start, end)) {
+        return lexeme;
+      }
+      index = (index + 1) & mask;
+      lexeme = lexemes[index];
+    }
+    lexeme = new String(chars, start, end - start);
+    lexemes[index] = lexeme;
+    size++;
+    if (size * 2 > lexemes.length) {
+      grow();
+    }
+    return lexeme;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Empties the table but keeps its capacity, so that the table ends up sized for the largest file seen so far.
+   */
+  void clear() {
+    if (size > 0) {
+      Arrays.fill(lexemes, null);
+      size = 0;
+    }
+  }
+
+  int capacity() {
+    return lexemes.length;
+  }
+
+  private void grow() {
+    String[] previous = lexemes;
+    lexemes = new String[previous.length * 2];
+    int mask = lexemes.length - 1;
+    for (String lexeme : previous) {
+      if (lexeme != null) {
+        int index = lexeme.hashCode() & mask;
+        while (lexemes[index] != null) {
+          index = (index + 1) & mask;
+        }
+        lexemes[index] = lexeme;
+      }
+    }
+  }
+
+  /**
+   * Same function as {@link String#hashCode()}, so that growing the table can rely on the cached hash of the lexemes.
+   */
+  private static int hash(char[] chars, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return hash;
+  }
+
+  private static boolean sameText(String lexeme, char[] chars, int start, int end) {
+    if (lexeme.length() != end - start) {
+      return false;
+    }
+    for (int i = 0; i < lexeme.length(); i++) {
+      if (lexeme.charAt(i) != chars[start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -47,6 +47,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -106,6 +107,13 @@ public class CognitiveComplexityVisitor extends BaseTreeVisitor {
   }
 
   public static int compilationUnitComplexity(CompilationUnitTree cut) {
+    return compilationUnitComplexity(cut, CognitiveComplexityVisitor::methodComplexity);
+  }
+
+  /**
+   * @param methodComplexity computes the complexity of the methods of the compilation unit, typically from a cache.
+   */
+  public static int compilationUnitComplexity(CompilationUnitTree cut, Function<MethodTree, Result> methodComplexity) {
     // only visit methods and initializers
     class CompilationUnitVisitor extends BaseTreeVisitor {
 
@@ -113,7 +121,7 @@ public class CognitiveComplexityVisitor extends BaseTreeVisitor {
 
       @Override
       public void visitMethod(MethodTree tree) {
-        cutComplexity += methodComplexity(tree).complexity;
+        cutComplexity += methodComplexity.apply(tree).complexity;
         super.visitMethod(tree);
       }
 
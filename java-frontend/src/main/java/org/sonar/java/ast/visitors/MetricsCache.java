@@ -0,0 +1,82 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrics of the syntax trees of a file, computed at most once per tree.
+ * Shared by the {@link org.sonar.java.Measurer} and checks through {@link org.sonar.java.model.ScannerContextUtils#metrics},
+ * results must consequently not be modified by their users.
+ */
+public class MetricsCache {
+
+  private final ComplexityVisitor complexityVisitor = new ComplexityVisitor();
+  private final Map<Tree, List<Tree>> complexityNodes = new IdentityHashMap<>();
+  private final Map<MethodTree, CognitiveComplexityVisitor.Result> cognitiveComplexities = new IdentityHashMap<>();
+  private final Map<Tree, Integer> linesOfCode = new IdentityHashMap<>();
+
+  /**
+   * @see ComplexityVisitor#getNodes(Tree)
+   */
+  public List<Tree> complexityNodes(Tree tree) {
+    return complexityNodes.computeIfAbsent(tree, t -> Collections.unmodifiableList(new ArrayList<>(complexityVisitor.getNodes(t))));
+  }
+
+  /**
+   * @see CognitiveComplexityVisitor#methodComplexity(MethodTree)
+   */
+  public CognitiveComplexityVisitor.Result cognitiveComplexity(MethodTree method) {
+    return cognitiveComplexities.computeIfAbsent(method, CognitiveComplexityVisitor::methodComplexity);
+  }
+
+  /**
+   * Cognitive complexity of a file, reusing the cognitive complexity of its methods.
+   * @see CognitiveComplexityVisitor#compilationUnitComplexity(CompilationUnitTree)
+   */
+  public int cognitiveComplexity(CompilationUnitTree cut) {
+    return CognitiveComplexityVisitor.compilationUnitComplexity(cut, this::cognitiveComplexity);
+  }
+
+  /**
+   * @see LinesOfCodeVisitor#linesOfCode(Tree)
+   */
+  public int linesOfCode(Tree tree) {
+    return linesOfCode.computeIfAbsent(tree, t -> new LinesOfCodeVisitor().linesOfCode(t));
+  }
+
+  /**
+   * Releases all the cached metrics.
+   */
+  public void clear() {
+    complexityNodes.clear();
+    cognitiveComplexities.clear();
+    linesOfCode.clear();
+  }
+
+}
@@ -20,13 +20,20 @@
 package org.sonar.java.ast.visitors;
 
 import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.TreeKindIndex;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import javax.annotation.CheckForNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -61,10 +68,45 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
   public void scanFile(JavaFileScannerContext context) {
     this.context = context;
     semanticModel = (SemanticModel) context.getSemanticModel();
-    scanTree(context.getTree());
+    CompilationUnitTree tree = context.getTree();
+    initNodesToVisit();
+    TreeKindIndex kindIndex = recordedKindIndex(tree);
+    if (kindIndex != null && visitsIndexedNodesOnly() && !isVisitingTokens() && !isVisitingTrivia()) {
+      for (Tree node : kindIndex.nodesOfKind(nodesToVisit.toArray(new Tree.Kind[0]))) {
+        visitNode(node);
+      }
+    } else if (mayContainSubscribedNodes(tree)) {
+      scanTree(tree);
+    }
   }
 
-  protected void scanTree(Tree tree) {
+  /**
+   * Visitors which only implement {@link #visitNode(Tree)} can return true, so that the subscribed nodes of a parsed file
+   * are taken, in document order, from the index of its nodes by kind instead of traversing the whole file.
+   * {@link #leaveNode(Tree)}, {@link #visitToken(SyntaxToken)} and {@link #visitTrivia(SyntaxTrivia)} are then not called.
+   */
+  protected boolean visitsIndexedNodesOnly() {
+    return false;
+  }
+
+  @CheckForNull
+  private static TreeKindIndex recordedKindIndex(CompilationUnitTree tree) {
+    return tree instanceof JavaTree.CompilationUnitTreeImpl ? ((JavaTree.CompilationUnitTreeImpl) tree).kindIndex() : null;
+  }
+
+  /**
+   * Files for which the parser recorded the kinds of their nodes are only scanned when they contain a subscribed kind.
+   */
+  private boolean mayContainSubscribedNodes(CompilationUnitTree tree) {
+    initNodesToVisit();
+    if (isVisitingTrivia()) {
+      return true;
+    }
+    TreeKindIndex kindIndex = recordedKindIndex(tree);
+    return kindIndex == null || kindIndex.containsAny(nodesToVisit);
+  }
+
+  private void initNodesToVisit() {
     if(nodesToVisit == null) {
       List<Tree.Kind> kinds = nodesToVisit();
       if(kinds.isEmpty()) {
@@ -73,12 +115,37 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
         nodesToVisit = EnumSet.copyOf(kinds);
       }
     }
+  }
+
+  protected void scanTree(Tree tree) {
+    initNodesToVisit();
     visitToken = isVisitingTokens();
     visitTrivia = isVisitingTrivia();
     visit(tree);
   }
 
+  /**
+   * Iterative depth-first traversal, so that deeply nested trees (typically long concatenations in generated code)
+   * can not overflow the stack.
+   */
   private void visit(Tree tree) {
+    Deque<VisitFrame> stack = new ArrayDeque<>();
+    enter(tree, stack);
+    while (!stack.isEmpty()) {
+      VisitFrame frame = stack.peek();
+      if (frame.childIndex < frame.children.size()) {
+        enter(frame.children.get(frame.childIndex), stack);
+        frame.childIndex++;
+      } else {
+        stack.pop();
+        if (frame.leave) {
+          leaveNode(frame.tree);
+        }
+      }
+    }
+  }
+
+  private void enter(Tree tree, Deque<VisitFrame> stack) {
     boolean isSubscribed = isSubscribed(tree);
     boolean shouldVisitSyntaxToken = (visitToken || visitTrivia) && tree.is(Tree.Kind.TOKEN);
     if (shouldVisitSyntaxToken) {
@@ -94,10 +161,7 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
     } else if (isSubscribed) {
       visitNode(tree);
     }
-    visitChildren(tree);
-    if (!shouldVisitSyntaxToken && isSubscribed) {
-      leaveNode(tree);
-    }
+    stack.push(new VisitFrame(tree, !shouldVisitSyntaxToken && isSubscribed));
   }
 
   private boolean isSubscribed(Tree tree) {
@@ -112,18 +176,21 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
     return nodesToVisit.contains(Tree.Kind.TOKEN);
   }
 
-  private void visitChildren(Tree tree) {
-    JavaTree javaTree = (JavaTree) tree;
-    if (!javaTree.isLeaf()) {
-      for (Tree next : javaTree.getChildren()) {
-        if (next != null) {
-          visit(next);
-        }
-      }
-    }
-  }
-
   public boolean hasSemantic(){
     return semanticModel != null;
   }
+
+  private static class VisitFrame {
+    private final Tree tree;
+    private final List<Tree> children;
+    private final boolean leave;
+    private int childIndex = 0;
+
+    VisitFrame(Tree tree, boolean leave) {
+      this.tree = tree;
+      JavaTree javaTree = (JavaTree) tree;
+      this.children = javaTree.isLeaf() ? Collections.emptyList() : javaTree.getChildren();
+      this.leave = leave;
+    }
+  }
 }
@@ -0,0 +1,75 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import com.google.common.io.ByteStreams;
+import org.objectweb.asm.ClassReader;
+import org.sonar.java.resolve.Convert;
+import org.sonar.java.resolve.Java9Support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records which classes have a class file reachable from a class loader, so that the existence of a class is checked at most once
+ * per class loader, without completing it through bytecode. Only the name of the class is read from its class file: on case
+ * insensitive file systems, a file can be found for a name which differs from the one of the class it contains.
+ *
+ * All class names are fully qualified binary names, for instance "java.util.Map$Entry".
+ */
+public class ClassFileIndex {
+
+  private final ClassLoader classLoader;
+  private final Map<String, Boolean> classFiles = new HashMap<>();
+
+  public ClassFileIndex(ClassLoader classLoader) {
+    this.classLoader = classLoader;
+  }
+
+  /**
+   * @return true if a class file exists for this class
+   */
+  public boolean exists(String className) {
+    return classFiles.computeIfAbsent(className, this::hasClassFile);
+  }
+
+  int size() {
+    return classFiles.size();
+  }
+
+  private boolean hasClassFile(String className) {
+    byte[] bytes;
+    try (InputStream is = classLoader.getResourceAsStream(Convert.bytecodeName(className) + ".class")) {
+      if (is == null) {
+        return false;
+      }
+      bytes = ByteStreams.toByteArray(is);
+    } catch (IOException e) {
+      return false;
+    }
+    if (Java9Support.isJava9Class(bytes)) {
+      Java9Support.setJava8MajorVersion(bytes);
+    }
+    // only reads the constant pool and the name of the class, no field nor method is visited
+    return new ClassReader(bytes).getClassName().equals(Convert.bytecodeName(className));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import com.google.common.io.ByteStreams;
+
+import javax.annotation.CheckForNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Raw class files of the JDK the analyzer is running on, owned by a {@link SquidClassLoader} and living as long as it does.
+ * JDK classes (java.lang, java.util, java.io...) are requested by each analyzed file: they are read once from the runtime image,
+ * then served from memory. Symbols are still built from these bytes with ASM for each analyzed file: this is not a symbol snapshot.
+ * <p>
+ * Only class files of the "java" and "javax" packages are covered. Classes of these packages which are not in the JDK, such as
+ * library "javax" classes, are recorded as missing, so that the bootstrap class loader is only asked once for them.
+ */
+final class JdkClassSnapshot {
+
+  private static final byte[] NOT_IN_JDK = new byte[0];
+
+  private final ClassLoader bootstrapClassLoader;
+  private final Map<String, byte[]> classFiles = new HashMap<>();
+
+  JdkClassSnapshot() {
+    this(new ClassLoader(null) {
+      // only delegates to bootstrap class loader
+    });
+  }
+
+  JdkClassSnapshot(ClassLoader bootstrapClassLoader) {
+    this.bootstrapClassLoader = bootstrapClassLoader;
+  }
+
+  /**
+   * @return true if the resource is a class file of the "java" or "javax" packages, for which {@link #classBytes(String)} can be used
+   */
+  static boolean covers(String resourceName) {
+    return resourceName.endsWith(".class") && (resourceName.startsWith("java/") || resourceName.startsWith("javax/"));
+  }
+
+  /**
+   * @param resourceName name of the class file, for instance "java/lang/Object.class", which must be {@link #covers(String) covered}
+   * @return content of the class file, or null if it is not provided by the JDK. Returned array must not be modified.
+   */
+  @CheckForNull
+  byte[] classBytes(String resourceName) {
+    byte[] bytes = classFiles.computeIfAbsent(resourceName, this::readClassFile);
+    return bytes == NOT_IN_JDK ? null : bytes;
+  }
+
+  int size() {
+    return classFiles.size();
+  }
+
+  void clear() {
+    classFiles.clear();
+  }
+
+  private byte[] readClassFile(String resourceName) {
+    try (InputStream is = bootstrapClassLoader.getResourceAsStream(resourceName)) {
+      if (is == null) {
+        return NOT_IN_JDK;
+      }
+      return ByteStreams.toByteArray(is);
+    } catch (IOException e) {
+      return NOT_IN_JDK;
+    }
+  }
+}
@@ -22,9 +22,11 @@ package org.sonar.java.bytecode.loader;
 import com.google.common.collect.Iterators;
 import org.apache.commons.lang.ArrayUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Enumeration;
@@ -36,6 +38,8 @@ import java.util.List;
 public class SquidClassLoader extends ClassLoader implements Closeable {
 
   private final List<Loader> loaders;
+  private final JdkClassSnapshot jdkClassSnapshot = new JdkClassSnapshot();
+  private final ClassFileIndex classFileIndex = new ClassFileIndex(this);
 
   /**
    * @param files ordered list of files and directories from which to load classes and resources
@@ -80,6 +84,43 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
     return null;
   }
 
+  @Override
+  public URL getResource(String name) {
+    if (JdkClassSnapshot.covers(name) && jdkClassSnapshot.classBytes(name) == null) {
+      // not part of the JDK: no need to ask the bootstrap class loader
+      return findResource(name);
+    }
+    return super.getResource(name);
+  }
+
+  /**
+   * @return index of the class files reachable from this class loader, which also records the classes it could not find
+   */
+  public ClassFileIndex classFileIndex() {
+    return classFileIndex;
+  }
+
+  /**
+   * Class files of the "java" and "javax" packages are served from the {@link JdkClassSnapshot} when the JDK provides them, and
+   * looked up in the files of this class loader otherwise. Other resources are looked up as usual.
+   */
+  @Override
+  public InputStream getResourceAsStream(String name) {
+    if (!JdkClassSnapshot.covers(name)) {
+      return super.getResourceAsStream(name);
+    }
+    byte[] jdkClassBytes = jdkClassSnapshot.classBytes(name);
+    if (jdkClassBytes != null) {
+      return new ByteArrayInputStream(jdkClassBytes);
+    }
+    URL url = findResource(name);
+    try {
+      return url != null ? url.openStream() : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
   @Override
   protected Enumeration<URL> findResources(String name) throws IOException {
     List<URL> result = new ArrayList<>();
@@ -103,6 +144,7 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
     for (Loader loader : loaders) {
       loader.close();
     }
+    jdkClassSnapshot.clear();
   }
 
 }
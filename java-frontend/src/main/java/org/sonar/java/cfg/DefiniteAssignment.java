@@ -0,0 +1,84 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Definite assignment of local variables and parameters: for each block, the variables which are assigned on every path
+ * reaching the start and the end of the block.
+ */
+public class DefiniteAssignment {
+
+  private final FactIndex<Symbol> symbols = new FactIndex<>();
+  private GenKillDataflow dataflow;
+  private final Map<CFG.Block, Set<Symbol>> out = new HashMap<>();
+  private final Map<CFG.Block, Set<Symbol>> in = new HashMap<>();
+
+  private DefiniteAssignment() {
+  }
+
+  public Set<Symbol> getIn(CFG.Block block) {
+    return in.computeIfAbsent(block, b -> symbols.toSet(dataflow.in(b)));
+  }
+
+  public Set<Symbol> getOut(CFG.Block block) {
+    return out.computeIfAbsent(block, b -> symbols.toSet(dataflow.out(b)));
+  }
+
+  public static DefiniteAssignment analyze(CFG cfg) {
+    DefiniteAssignment definiteAssignment = new DefiniteAssignment();
+    BitSet boundary = new BitSet();
+    for (VariableTree parameter : ReachingDefinitions.parameters(cfg)) {
+      boundary.set(definiteAssignment.symbols.index(parameter.symbol()));
+    }
+    GenKillDataflow dataflow = new GenKillDataflow(cfg, GenKillDataflow.Direction.FORWARD, GenKillDataflow.Meet.INTERSECTION);
+    for (CFG.Block block : cfg.blocks()) {
+      BitSet gen = dataflow.gen(block);
+      for (Tree element : block.elements()) {
+        Symbol symbol = ReachingDefinitions.definedLocalVariable(element);
+        if (symbol != null && assignsValue(element)) {
+          gen.set(definiteAssignment.symbols.index(symbol));
+        }
+      }
+    }
+    dataflow.solve(definiteAssignment.symbols.size(), boundary);
+    definiteAssignment.dataflow = dataflow;
+    return definiteAssignment;
+  }
+
+  private static boolean assignsValue(Tree definition) {
+    if (definition.is(Kind.VARIABLE)) {
+      VariableTree variable = (VariableTree) definition;
+      // variables of for-each loops and catch parameters are assigned by their enclosing statement
+      return variable.initializer() != null || variable.parent().is(Kind.FOR_EACH_STATEMENT, Kind.CATCH);
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dense numbering of the facts of a dataflow problem, used to translate bit sets from and to sets of facts.
+ */
+class FactIndex<T> {
+
+  private final Map<T, Integer> indexes = new HashMap<>();
+  private final List<T> facts = new ArrayList<>();
+
+  int index(T fact) {
+    return indexes.computeIfAbsent(fact, f -> {
+      facts.add(f);
+      return facts.size() - 1;
+    });
+  }
+
+  int size() {
+    return facts.size();
+  }
+
+  Set<T> toSet(BitSet bits) {
+    ImmutableSet.Builder<T> builder = ImmutableSet.builder();
+    for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+      builder.add(facts.get(i));
+    }
+    return builder.build();
+  }
+
+}
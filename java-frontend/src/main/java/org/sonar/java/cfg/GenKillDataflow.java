@@ -0,0 +1,294 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Iterative solver of gen/kill dataflow problems over the blocks of a {@link CFG}.
+ * Blocks and facts are numbered densely and sets of facts are represented as bit sets. Blocks are processed in reverse
+ * postorder for forward problems (postorder for backward problems) using a worklist prioritized by that order,
+ * until a fixpoint is reached.
+ * <p>
+ * Whatever the direction of the problem, {@link #in(CFG.Block)} is the set of facts holding at the start of a block and
+ * {@link #out(CFG.Block)} the set of facts holding at its end.
+ * <p>
+ * For forward problems, an exception can leave a block before its end: the facts reaching the target of an exception edge
+ * are the ones of {@link #in(CFG.Block)} and of {@link #out(CFG.Block)} of the block throwing it, joined for "may" problems,
+ * and kept only when they hold at both ends for "must" problems. For backward problems, exception edges are still considered
+ * as regular edges, as {@link LiveVariables} always did.
+ */
+public final class GenKillDataflow {
+
+  public enum Direction {
+    FORWARD, BACKWARD
+  }
+
+  public enum Meet {
+    /** a fact holds if it holds on at least one path ("may" problems) */
+    UNION,
+    /** a fact holds if it holds on all paths ("must" problems) */
+    INTERSECTION
+  }
+
+  private final Direction direction;
+  private final Meet meet;
+  private final List<CFG.Block> blocks;
+  private final int[] indexById;
+  private final BitSet[] gen;
+  private final BitSet[] kill;
+  private final BitSet[] in;
+  private final BitSet[] out;
+
+  public GenKillDataflow(CFG cfg, Direction direction, Meet meet) {
+    this.direction = direction;
+    this.meet = meet;
+    int maxId = 0;
+    for (CFG.Block block : cfg.blocks()) {
+      maxId = Math.max(maxId, block.id());
+    }
+    this.blocks = order(cfg, direction, maxId);
+    indexById = new int[maxId + 1];
+    for (int i = 0; i < blocks.size(); i++) {
+      indexById[blocks.get(i).id()] = i;
+    }
+    int size = blocks.size();
+    gen = new BitSet[size];
+    kill = new BitSet[size];
+    in = new BitSet[size];
+    out = new BitSet[size];
+    for (int i = 0; i < size; i++) {
+      gen[i] = new BitSet();
+      kill[i] = new BitSet();
+    }
+  }
+
+  /**
+   * Facts generated by the block, to be filled before calling {@link #solve(int, BitSet)}.
+   */
+  public BitSet gen(CFG.Block block) {
+    return gen[index(block)];
+  }
+
+  /**
+   * Facts killed by the block, to be filled before calling {@link #solve(int, BitSet)}.
+   */
+  public BitSet kill(CFG.Block block) {
+    return kill[index(block)];
+  }
+
+  /**
+   * Computes the fixpoint.
+   * @param factCount number of facts, facts being numbered from 0 to factCount - 1.
+   * @param boundary facts holding at the start of the entry block for forward problems, at the end of exit blocks for backward problems.
+   */
+  public void solve(int factCount, BitSet boundary) {
+    int size = blocks.size();
+    for (int i = 0; i < size; i++) {
+      in[i] = new BitSet(factCount);
+      out[i] = new BitSet(factCount);
+      if (meet == Meet.INTERSECTION) {
+        // top of the lattice, so that intersections only keep facts holding on all paths
+        in[i].set(0, factCount);
+        out[i].set(0, factCount);
+      }
+    }
+    // worklist prioritized by iteration order: next block to process is the lowest set bit
+    BitSet workList = new BitSet(size);
+    workList.set(0, size);
+    for (int i = workList.nextSetBit(0); i >= 0; i = workList.nextSetBit(0)) {
+      workList.clear(i);
+      CFG.Block block = blocks.get(i);
+      BitSet input = input(i);
+      BitSet previousInput = direction == Direction.FORWARD && !block.exceptions().isEmpty() ? (BitSet) input.clone() : null;
+      meetInto(input, block, isBoundary(block) ? boundary : null);
+      BitSet newOutput = (BitSet) input.clone();
+      newOutput.andNot(kill[i]);
+      newOutput.or(gen[i]);
+      if (!newOutput.equals(output(i))) {
+        setOutput(i, newOutput);
+        for (CFG.Block target : targets(block)) {
+          workList.set(index(target));
+        }
+      } else if (previousInput != null && !previousInput.equals(input)) {
+        // the targets of exception edges also depend on the input of the block
+        for (CFG.Block target : block.exceptions()) {
+          workList.set(index(target));
+        }
+      }
+    }
+  }
+
+  public BitSet in(CFG.Block block) {
+    return in[index(block)];
+  }
+
+  public BitSet out(CFG.Block block) {
+    return out[index(block)];
+  }
+
+  private int index(CFG.Block block) {
+    return indexById[block.id()];
+  }
+
+  /**
+   * Boundary facts flow through a virtual edge entering the entry block (forward problems) or leaving exit blocks (backward problems).
+   * Blocks without any incoming edge have no facts.
+   */
+  private void meetInto(BitSet input, CFG.Block block, @Nullable BitSet boundary) {
+    input.clear();
+    boolean first = true;
+    if (boundary != null) {
+      input.or(boundary);
+      first = false;
+    }
+    for (CFG.Block source : sources(block)) {
+      int sourceIndex = index(source);
+      if (direction == Direction.FORWARD && source.exceptions().contains(block)) {
+        meetInto(input, exceptionOutput(sourceIndex), first);
+        first = false;
+      }
+      if (direction == Direction.BACKWARD || source.successors().contains(block)) {
+        meetInto(input, output(sourceIndex), first);
+        first = false;
+      }
+    }
+  }
+
+  private void meetInto(BitSet input, BitSet sourceOutput, boolean first) {
+    if (first || meet == Meet.UNION) {
+      input.or(sourceOutput);
+    } else {
+      input.and(sourceOutput);
+    }
+  }
+
+  /**
+   * Facts leaving a block through an exception edge of a forward problem: the exception can be thrown anywhere in the block.
+   */
+  private BitSet exceptionOutput(int index) {
+    BitSet result = (BitSet) in[index].clone();
+    if (meet == Meet.UNION) {
+      result.or(out[index]);
+    } else {
+      result.and(out[index]);
+    }
+    return result;
+  }
+
+  private boolean isBoundary(CFG.Block block) {
+    if (direction == Direction.FORWARD) {
+      // the entry block is the first one of the iteration order
+      return index(block) == 0;
+    }
+    return block.successors().isEmpty() && block.exceptions().isEmpty();
+  }
+
+  /**
+   * Set of facts at the side of the block where the meet happens.
+   */
+  private BitSet input(int index) {
+    return direction == Direction.FORWARD ? in[index] : out[index];
+  }
+
+  /**
+   * Set of facts at the side of the block computed by the transfer function.
+   */
+  private BitSet output(int index) {
+    return direction == Direction.FORWARD ? out[index] : in[index];
+  }
+
+  private void setOutput(int index, BitSet output) {
+    if (direction == Direction.FORWARD) {
+      out[index] = output;
+    } else {
+      in[index] = output;
+    }
+  }
+
+  private Collection<CFG.Block> sources(CFG.Block block) {
+    return direction == Direction.FORWARD ? block.predecessors() : successorsAndExceptions(block);
+  }
+
+  private Collection<CFG.Block> targets(CFG.Block block) {
+    return direction == Direction.FORWARD ? successorsAndExceptions(block) : block.predecessors();
+  }
+
+  private static Collection<CFG.Block> successorsAndExceptions(CFG.Block block) {
+    if (block.exceptions().isEmpty()) {
+      return block.successors();
+    }
+    List<CFG.Block> result = new ArrayList<>(block.successors());
+    result.addAll(block.exceptions());
+    return result;
+  }
+
+  /**
+   * Blocks reachable from the entry block in reverse postorder (postorder for backward problems), followed by unreachable blocks.
+   */
+  private static List<CFG.Block> order(CFG cfg, Direction direction, int maxId) {
+    List<CFG.Block> allBlocks = cfg.blocks();
+    BitSet visited = new BitSet(maxId + 1);
+    List<CFG.Block> postOrder = new ArrayList<>(allBlocks.size());
+    // iterative depth first search, to not be limited by the stack size on huge methods
+    Deque<Iterator<CFG.Block>> stack = new ArrayDeque<>();
+    Deque<CFG.Block> path = new ArrayDeque<>();
+    CFG.Block entry = cfg.entry();
+    visited.set(entry.id());
+    path.push(entry);
+    stack.push(successorsAndExceptions(entry).iterator());
+    while (!stack.isEmpty()) {
+      Iterator<CFG.Block> successors = stack.peek();
+      if (successors.hasNext()) {
+        CFG.Block successor = successors.next();
+        if (!visited.get(successor.id())) {
+          visited.set(successor.id());
+          path.push(successor);
+          stack.push(successorsAndExceptions(successor).iterator());
+        }
+      } else {
+        stack.pop();
+        postOrder.add(path.pop());
+      }
+    }
+    List<CFG.Block> result = new ArrayList<>(allBlocks.size());
+    if (direction == Direction.FORWARD) {
+      for (int i = postOrder.size() - 1; i >= 0; i--) {
+        result.add(postOrder.get(i));
+      }
+    } else {
+      result.addAll(postOrder);
+    }
+    for (CFG.Block block : allBlocks) {
+      if (!visited.get(block.id())) {
+        result.add(block);
+      }
+    }
+    return result;
+  }
+
+}
@@ -19,9 +19,7 @@
  */
 package org.sonar.java.cfg;
 
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
@@ -36,21 +34,22 @@ import org.sonar.plugins.java.api.tree.VariableTree;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
 public class LiveVariables {
 
   private final CFG cfg;
+  private final boolean includeFields;
+  private final FactIndex<Symbol> symbols = new FactIndex<>();
+  private GenKillDataflow dataflow;
+  // sets of symbols are only created for the blocks they are requested for
   private final Map<CFG.Block, Set<Symbol>> out = new HashMap<>();
   private final Map<CFG.Block, Set<Symbol>> in = new HashMap<>();
-  private final boolean includeFields;
 
   private LiveVariables(CFG cfg, boolean includeFields) {
     this.cfg = cfg;
@@ -58,11 +57,11 @@ public class LiveVariables {
   }
 
   public Set<Symbol> getOut(CFG.Block block) {
-    return out.get(block);
+    return out.computeIfAbsent(block, b -> symbols.toSet(dataflow.out(b)));
   }
 
   public Set<Symbol> getIn(CFG.Block block) {
-    return in.get(block);
+    return in.computeIfAbsent(block, b -> symbols.toSet(dataflow.in(b)));
   }
 
   /**
@@ -81,52 +80,18 @@ public class LiveVariables {
 
   private static LiveVariables analyze(CFG cfg, boolean includeFields) {
     LiveVariables liveVariables = new LiveVariables(cfg, includeFields);
+    GenKillDataflow dataflow = new GenKillDataflow(cfg, GenKillDataflow.Direction.BACKWARD, GenKillDataflow.Meet.UNION);
     // Generate kill/gen for each block in isolation
-    Map<CFG.Block, Set<Symbol>> kill = new HashMap<>();
-    Map<CFG.Block, Set<Symbol>> gen = new HashMap<>();
-    for (CFG.Block block : liveVariables.cfg.reversedBlocks()) {
-      Set<Symbol> blockKill = new HashSet<>();
-      Set<Symbol> blockGen = new HashSet<>();
-      liveVariables.processBlockElements(block, blockKill, blockGen);
-      kill.put(block, blockKill);
-      gen.put(block, blockGen);
-    }
-    liveVariables.analyzeCFG(liveVariables.in, kill, gen);
-    // out of exit block are empty by definition.
-    if (!liveVariables.out.get(liveVariables.cfg.reversedBlocks().get(0)).isEmpty()) {
-      throw new IllegalStateException("Out of exit block should be empty");
-    }
-
-    // Make things immutable.
-    for (Map.Entry<CFG.Block, Set<Symbol>> blockSetEntry : liveVariables.out.entrySet()) {
-      blockSetEntry.setValue(ImmutableSet.copyOf(blockSetEntry.getValue()));
+    for (CFG.Block block : cfg.reversedBlocks()) {
+      liveVariables.processBlockElements(block, dataflow.kill(block), dataflow.gen(block));
     }
-
+    // nothing is live at the end of the method
+    dataflow.solve(liveVariables.symbols.size(), new BitSet());
+    liveVariables.dataflow = dataflow;
     return liveVariables;
   }
 
-  private void analyzeCFG(Map<CFG.Block, Set<Symbol>> in, Map<CFG.Block, Set<Symbol>> kill, Map<CFG.Block, Set<Symbol>> gen) {
-    Deque<CFG.Block> workList = new LinkedList<>();
-    workList.addAll(cfg.reversedBlocks());
-    while (!workList.isEmpty()) {
-      CFG.Block block = workList.removeFirst();
-
-      Set<Symbol> blockOut = out.computeIfAbsent(block, k -> new HashSet<>());
-      block.successors().stream().map(in::get).filter(Objects::nonNull).forEach(blockOut::addAll);
-      block.exceptions().stream().map(in::get).filter(Objects::nonNull).forEach(blockOut::addAll);
-      // in = gen and (out - kill)
-      Set<Symbol> newIn = new HashSet<>(gen.get(block));
-      newIn.addAll(Sets.difference(blockOut, kill.get(block)));
-
-      if (newIn.equals(in.get(block))) {
-        continue;
-      }
-      in.put(block, newIn);
-      block.predecessors().forEach(workList::addLast);
-    }
-  }
-
-  private void processBlockElements(CFG.Block block, Set<Symbol> blockKill, Set<Symbol> blockGen) {
+  private void processBlockElements(CFG.Block block, BitSet blockKill, BitSet blockGen) {
     // process elements from bottom to top
     Set<Tree> assignmentLHS = new HashSet<>();
     for (Tree element : Lists.reverse(block.elements())) {
@@ -141,17 +106,18 @@ public class LiveVariables {
           processMemberSelect((MemberSelectExpressionTree) element, assignmentLHS, blockGen);
           break;
         case VARIABLE:
-          blockKill.add(((VariableTree) element).symbol());
-          blockGen.remove(((VariableTree) element).symbol());
+          int variable = symbols.index(((VariableTree) element).symbol());
+          blockKill.set(variable);
+          blockGen.clear(variable);
           break;
         case LAMBDA_EXPRESSION:
-          blockGen.addAll(getUsedVariables(((LambdaExpressionTree) element).body(), cfg.methodSymbol()));
+          addAll(blockGen, getUsedVariables(((LambdaExpressionTree) element).body(), cfg.methodSymbol()));
           break;
         case METHOD_REFERENCE:
-          blockGen.addAll(getUsedVariables(((MethodReferenceTree) element).expression(), cfg.methodSymbol()));
+          addAll(blockGen, getUsedVariables(((MethodReferenceTree) element).expression(), cfg.methodSymbol()));
           break;
         case NEW_CLASS:
-          blockGen.addAll(getUsedVariables(((NewClassTree) element).classBody(), cfg.methodSymbol()));
+          addAll(blockGen, getUsedVariables(((NewClassTree) element).classBody(), cfg.methodSymbol()));
           break;
         default:
           // Ignore other kind of elements, no change of gen/kill
@@ -159,24 +125,30 @@ public class LiveVariables {
     }
   }
 
-  private void processIdentifier(IdentifierTree element, Set<Symbol> blockGen, Set<Tree> assignmentLHS) {
+  private void addAll(BitSet blockGen, Set<Symbol> usedVariables) {
+    for (Symbol symbol : usedVariables) {
+      blockGen.set(symbols.index(symbol));
+    }
+  }
+
+  private void processIdentifier(IdentifierTree element, BitSet blockGen, Set<Tree> assignmentLHS) {
     Symbol symbol = element.symbol();
     if (!assignmentLHS.contains(element) && includeSymbol(symbol)) {
-      blockGen.add(symbol);
+      blockGen.set(symbols.index(symbol));
     }
   }
 
-  private void processMemberSelect(MemberSelectExpressionTree element, Set<Tree> assignmentLHS, Set<Symbol> blockGen) {
+  private void processMemberSelect(MemberSelectExpressionTree element, Set<Tree> assignmentLHS, BitSet blockGen) {
     Symbol symbol;
     if (!assignmentLHS.contains(element) && includeFields) {
       symbol = getField(element);
       if (symbol != null) {
-        blockGen.add(symbol);
+        blockGen.set(symbols.index(symbol));
       }
     }
   }
 
-  private void processAssignment(AssignmentExpressionTree element, Set<Symbol> blockKill, Set<Symbol> blockGen, Set<Tree> assignmentLHS) {
+  private void processAssignment(AssignmentExpressionTree element, BitSet blockKill, BitSet blockGen, Set<Tree> assignmentLHS) {
     Symbol symbol = null;
     ExpressionTree lhs = element.variable();
     if (lhs.is(Kind.IDENTIFIER)) {
@@ -188,8 +160,9 @@ public class LiveVariables {
 
     if (symbol != null && includeSymbol(symbol)) {
       assignmentLHS.add(lhs);
-      blockGen.remove(symbol);
-      blockKill.add(symbol);
+      int index = symbols.index(symbol);
+      blockGen.clear(index);
+      blockKill.set(index);
     }
   }
 
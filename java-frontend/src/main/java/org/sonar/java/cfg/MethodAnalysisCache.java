@@ -0,0 +1,109 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import org.sonar.plugins.java.api.tree.MethodTree;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Control flow graphs and dataflow results of the methods of a file, computed at most once per method.
+ * Shared by symbolic execution and checks through {@link org.sonar.java.model.ScannerContextUtils#methodAnalysisCache},
+ * results must consequently not be modified by their users.
+ */
+public class MethodAnalysisCache {
+
+  private final Map<MethodTree, CFG> cfgs = new IdentityHashMap<>();
+  private final Map<MethodTree, LiveVariables> liveVariables = new IdentityHashMap<>();
+  private final Map<MethodTree, LiveVariables> liveVariablesWithFields = new IdentityHashMap<>();
+  private final Map<MethodTree, ReachingDefinitions> reachingDefinitions = new IdentityHashMap<>();
+  private final Map<MethodTree, DefiniteAssignment> definiteAssignments = new IdentityHashMap<>();
+  private int hits = 0;
+  private int misses = 0;
+
+  /**
+   * @see CFG#build(MethodTree)
+   */
+  public CFG cfg(MethodTree method) {
+    return get(cfgs, method, CFG::build);
+  }
+
+  /**
+   * @see LiveVariables#analyze(CFG)
+   */
+  public LiveVariables liveVariables(MethodTree method) {
+    return get(liveVariables, method, m -> LiveVariables.analyze(cfg(m)));
+  }
+
+  /**
+   * @see LiveVariables#analyzeWithFields(CFG)
+   */
+  public LiveVariables liveVariablesWithFields(MethodTree method) {
+    return get(liveVariablesWithFields, method, m -> LiveVariables.analyzeWithFields(cfg(m)));
+  }
+
+  /**
+   * @see ReachingDefinitions#analyze(CFG)
+   */
+  public ReachingDefinitions reachingDefinitions(MethodTree method) {
+    return get(reachingDefinitions, method, m -> ReachingDefinitions.analyze(cfg(m)));
+  }
+
+  /**
+   * @see DefiniteAssignment#analyze(CFG)
+   */
+  public DefiniteAssignment definiteAssignment(MethodTree method) {
+    return get(definiteAssignments, method, m -> DefiniteAssignment.analyze(cfg(m)));
+  }
+
+  private <T> T get(Map<MethodTree, T> cache, MethodTree method, Function<MethodTree, T> compute) {
+    T result = cache.get(method);
+    if (result != null) {
+      hits++;
+      return result;
+    }
+    misses++;
+    result = compute.apply(method);
+    cache.put(method, result);
+    return result;
+  }
+
+  public int hits() {
+    return hits;
+  }
+
+  public int misses() {
+    return misses;
+  }
+
+  /**
+   * Releases all the cached results, hit and miss counts are kept.
+   */
+  public void clear() {
+    cfgs.clear();
+    liveVariables.clear();
+    liveVariablesWithFields.clear();
+    reachingDefinitions.clear();
+    definiteAssignments.clear();
+  }
+
+}
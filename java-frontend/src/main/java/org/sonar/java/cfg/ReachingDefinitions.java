@@ -0,0 +1,139 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import org.sonar.java.model.ExpressionUtils;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import javax.annotation.CheckForNull;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reaching definitions of local variables and parameters: for each block, the definitions which may have provided
+ * the value of a variable at the start and at the end of the block.
+ * <p>
+ * Definitions are the elements of the CFG storing a value in a local variable: variable declarations (including the ones
+ * without initializer, for which the variable is not yet assigned), assignments and increments/decrements.
+ * Parameters of the method are defined by their declaration, which reaches the entry of the method.
+ */
+public class ReachingDefinitions {
+
+  private final FactIndex<Tree> definitions = new FactIndex<>();
+  private final Map<Symbol, List<Integer>> definitionsBySymbol = new HashMap<>();
+  private GenKillDataflow dataflow;
+  private final Map<CFG.Block, Set<Tree>> out = new HashMap<>();
+  private final Map<CFG.Block, Set<Tree>> in = new HashMap<>();
+
+  private ReachingDefinitions() {
+  }
+
+  public Set<Tree> getIn(CFG.Block block) {
+    return in.computeIfAbsent(block, b -> definitions.toSet(dataflow.in(b)));
+  }
+
+  public Set<Tree> getOut(CFG.Block block) {
+    return out.computeIfAbsent(block, b -> definitions.toSet(dataflow.out(b)));
+  }
+
+  public static ReachingDefinitions analyze(CFG cfg) {
+    ReachingDefinitions reachingDefinitions = new ReachingDefinitions();
+    BitSet boundary = new BitSet();
+    for (VariableTree parameter : parameters(cfg)) {
+      boundary.set(reachingDefinitions.register(parameter, parameter.symbol()));
+    }
+    // number all the definitions first, as a definition kills all the other definitions of the same variable
+    List<CFG.Block> blocks = cfg.blocks();
+    for (CFG.Block block : blocks) {
+      for (Tree element : block.elements()) {
+        Symbol symbol = definedLocalVariable(element);
+        if (symbol != null) {
+          reachingDefinitions.register(element, symbol);
+        }
+      }
+    }
+    GenKillDataflow dataflow = new GenKillDataflow(cfg, GenKillDataflow.Direction.FORWARD, GenKillDataflow.Meet.UNION);
+    for (CFG.Block block : blocks) {
+      BitSet gen = dataflow.gen(block);
+      BitSet kill = dataflow.kill(block);
+      for (Tree element : block.elements()) {
+        Symbol symbol = definedLocalVariable(element);
+        if (symbol != null) {
+          for (int other : reachingDefinitions.definitionsBySymbol.get(symbol)) {
+            gen.clear(other);
+            kill.set(other);
+          }
+          gen.set(reachingDefinitions.definitions.index(element));
+        }
+      }
+    }
+    dataflow.solve(reachingDefinitions.definitions.size(), boundary);
+    reachingDefinitions.dataflow = dataflow;
+    return reachingDefinitions;
+  }
+
+  private int register(Tree definition, Symbol symbol) {
+    int index = definitions.index(definition);
+    definitionsBySymbol.computeIfAbsent(symbol, s -> new ArrayList<>()).add(index);
+    return index;
+  }
+
+  static List<VariableTree> parameters(CFG cfg) {
+    Symbol.MethodSymbol methodSymbol = cfg.methodSymbol();
+    MethodTree declaration = methodSymbol == null ? null : methodSymbol.declaration();
+    return declaration == null ? Collections.emptyList() : declaration.parameters();
+  }
+
+  /**
+   * @return the local variable or parameter defined by the given element of a CFG block, null if the element is not a definition.
+   */
+  @CheckForNull
+  public static Symbol definedLocalVariable(Tree element) {
+    Symbol symbol = null;
+    if (element.is(Kind.VARIABLE)) {
+      symbol = ((VariableTree) element).symbol();
+    } else if (element instanceof AssignmentExpressionTree) {
+      symbol = identifierSymbol(((AssignmentExpressionTree) element).variable());
+    } else if (element.is(Kind.PREFIX_INCREMENT, Kind.PREFIX_DECREMENT, Kind.POSTFIX_INCREMENT, Kind.POSTFIX_DECREMENT)) {
+      symbol = identifierSymbol(((UnaryExpressionTree) element).expression());
+    }
+    return symbol != null && symbol.owner().isMethodSymbol() ? symbol : null;
+  }
+
+  @CheckForNull
+  private static Symbol identifierSymbol(ExpressionTree expression) {
+    ExpressionTree tree = ExpressionUtils.skipParentheses(expression);
+    return tree.is(Kind.IDENTIFIER) ? ((IdentifierTree) tree).symbol() : null;
+  }
+
+}
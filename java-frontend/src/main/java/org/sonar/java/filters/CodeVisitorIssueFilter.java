@@ -19,9 +19,16 @@
  */
 package org.sonar.java.filters;
 
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.IssueFilter;
 import org.sonar.squidbridge.api.CodeVisitor;
 
 public interface CodeVisitorIssueFilter extends CodeVisitor, IssueFilter {
 
+  /**
+   * Tells if an issue of the given rule, starting on the given line of the file currently being scanned, would be kept by this filter.
+   * Issue filters visit each file before the checks, so that checks can avoid computing issues which would be filtered out.
+   */
+  boolean accept(RuleKey ruleKey, int line);
+
 }
@@ -0,0 +1,89 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import org.sonar.api.utils.log.Logger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Classes which could not be found in the classpath during the analysis, with the number of files referencing each of them and
+ * the first {@value #MAX_FILES_PER_CLASS} of these files.
+ */
+class ClassesNotFoundReport {
+
+  private static final int MAX_CLASSES_IN_SUMMARY = 50;
+  private static final int MAX_FILES_PER_CLASS = 5;
+
+  private final Map<String, ReferencingFiles> referencingFilesByClass = new TreeMap<>();
+
+  void add(Collection<String> classesNotFound, File file) {
+    for (String className : classesNotFound) {
+      referencingFilesByClass.computeIfAbsent(className, k -> new ReferencingFiles()).add(file);
+    }
+  }
+
+  boolean isEmpty() {
+    return referencingFilesByClass.isEmpty();
+  }
+
+  int referencingFilesCount(String className) {
+    ReferencingFiles referencingFiles = referencingFilesByClass.get(className);
+    return referencingFiles == null ? 0 : referencingFiles.count;
+  }
+
+  /**
+   * Logs a summary of the first missing classes as a warning, and the details of every missing class in debug.
+   */
+  void log(Logger logger) {
+    if (isEmpty()) {
+      return;
+    }
+    String ellipsis = referencingFilesByClass.size() > MAX_CLASSES_IN_SUMMARY ? ", ..." : "";
+    logger.warn("Classes not found during the analysis : [{}{}]",
+      referencingFilesByClass.keySet().stream().limit(MAX_CLASSES_IN_SUMMARY).collect(Collectors.joining(", ")), ellipsis);
+    if (logger.isDebugEnabled()) {
+      StringBuilder details = new StringBuilder().append(referencingFilesByClass.size()).append(" classes not found during the analysis:");
+      referencingFilesByClass.forEach((className, referencingFiles) -> details.append("\n  ").append(className)
+        .append(" referenced by ").append(referencingFiles.count).append(referencingFiles.count == 1 ? " file: " : " files: ")
+        .append(referencingFiles.files.stream().map(File::getPath).collect(Collectors.joining(", ")))
+        .append(referencingFiles.count > referencingFiles.files.size() ? ", ..." : ""));
+      logger.debug(details.toString());
+    }
+  }
+
+  private static class ReferencingFiles {
+    private int count = 0;
+    private final List<File> files = new ArrayList<>();
+
+    void add(File file) {
+      if (count < MAX_FILES_PER_CLASS) {
+        files.add(file);
+      }
+      count++;
+    }
+  }
+}
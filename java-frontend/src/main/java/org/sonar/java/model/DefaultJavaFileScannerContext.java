@@ -28,7 +28,8 @@ import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.SonarComponents;
-import org.sonar.java.ast.visitors.ComplexityVisitor;
+import org.sonar.java.ast.visitors.MetricsCache;
+import org.sonar.java.cfg.MethodAnalysisCache;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -43,10 +44,15 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
   @VisibleForTesting
   private final SemanticModel semanticModel;
   private final SonarComponents sonarComponents;
-  private final ComplexityVisitor complexityVisitor;
   private final File file;
   private final JavaVersion javaVersion;
   private final boolean fileParsed;
+  private TreeKindIndex kindIndex;
+  private final MethodAnalysisCache methodAnalysisCache = new MethodAnalysisCache();
+  private final MetricsCache metricsCache = new MetricsCache();
+  // read once per file, as several checks read the source of the file
+  private String fileContent;
+  private List<String> fileLines;
 
   public DefaultJavaFileScannerContext(CompilationUnitTree tree, File file, SemanticModel semanticModel,
                                        @Nullable SonarComponents sonarComponents, JavaVersion javaVersion, boolean fileParsed) {
@@ -54,7 +60,6 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
     this.file = file;
     this.semanticModel = semanticModel;
     this.sonarComponents = sonarComponents;
-    this.complexityVisitor = new ComplexityVisitor();
     this.javaVersion = javaVersion;
     this.fileParsed = fileParsed;
   }
@@ -123,6 +128,20 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
     sonarComponents.reportIssue(createAnalyzerMessage(file, javaCheck, syntaxNode, null, message, flows, cost));
   }
 
+  /**
+   * Tells whether an issue raised by the given check on the given tree would be dropped, because the rule is not active
+   * or because an issue filter (@SuppressWarnings, generated code...) suppresses it.
+   * Checks can use it to skip the computation of secondary locations and flows of such issues.
+   * @return true if the issue would not be reported.
+   */
+  public boolean isIssueSuppressed(JavaCheck javaCheck, Tree tree) {
+    if (sonarComponents == null) {
+      return false;
+    }
+    AnalyzerMessage.TextSpan textSpan = AnalyzerMessage.textSpanFor(tree);
+    return sonarComponents.isIssueSuppressed(javaCheck, textSpan.startLine);
+  }
+
   @Override
   public void reportIssue(JavaCheck javaCheck, Tree startTree, Tree endTree, String message) {
     reportIssue(javaCheck, startTree, endTree, message, ImmutableList.of(), null);
@@ -136,12 +155,18 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
 
   @Override
   public List<String> getFileLines() {
-    return sonarComponents.fileLines(file);
+    if (fileLines == null) {
+      fileLines = Collections.unmodifiableList(sonarComponents.fileLines(file));
+    }
+    return fileLines;
   }
 
   @Override
   public String getFileContent() {
-    return sonarComponents.fileContent(file);
+    if (fileContent == null) {
+      fileContent = sonarComponents.fileContent(file);
+    }
+    return fileContent;
   }
 
   protected static AnalyzerMessage createAnalyzerMessage(File file, JavaCheck javaCheck, Tree startTree, @Nullable Tree endTree, String message, Iterable<List<Location>> flows,
@@ -163,7 +188,33 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
 
   @Override
   public List<Tree> getComplexityNodes(Tree tree) {
-    return complexityVisitor.getNodes(tree);
+    return metricsCache.complexityNodes(tree);
+  }
+
+  /**
+   * @return nodes of the current file having one of the given kinds, in document order.
+   */
+  public List<Tree> nodesOfKind(Tree.Kind... kinds) {
+    if (kindIndex == null) {
+      kindIndex = TreeKindIndex.of(tree);
+    }
+    return kindIndex.nodesOfKind(kinds);
+  }
+
+  /**
+   * @return control flow graphs and dataflow results of the methods of the current file, computed at most once per method
+   * and released at the end of the analysis of the file.
+   */
+  public MethodAnalysisCache methodAnalysisCache() {
+    return methodAnalysisCache;
+  }
+
+  /**
+   * @return complexity and lines of code of the trees of the current file, computed at most once per tree
+   * and released at the end of the analysis of the file.
+   */
+  public MetricsCache metrics() {
+    return metricsCache;
   }
 
   @Override
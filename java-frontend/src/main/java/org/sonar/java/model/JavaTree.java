@@ -49,7 +49,6 @@ import org.sonar.plugins.java.api.tree.WildcardTree;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
@@ -64,6 +63,12 @@ public abstract class JavaTree implements Tree {
 
   private List<Tree> children;
 
+  /**
+   * Cached structural hash, 0 when not computed yet.
+   * @see SyntacticEquivalence#hash(Tree)
+   */
+  private int structuralHash;
+
   public JavaTree(GrammarRuleKey grammarRuleKey) {
     this.grammarRuleKey = grammarRuleKey;
   }
@@ -129,15 +134,19 @@ public abstract class JavaTree implements Tree {
    */
   protected abstract Iterable<Tree> children();
 
+  /**
+   * Children of this node, computed once and stored as an immutable list backed by an array of the exact size.
+   */
   public List<Tree> getChildren() {
-    if(children == null) {
-      children = new ArrayList<>();
-      children().forEach(child -> {
+    if (children == null) {
+      ImmutableList.Builder<Tree> builder = ImmutableList.builder();
+      for (Tree child : children()) {
         // null children are ignored
         if (child != null) {
-          children.add(child);
+          builder.add(child);
         }
-      });
+      }
+      children = builder.build();
     }
     return children;
   }
@@ -146,6 +155,14 @@ public abstract class JavaTree implements Tree {
     return false;
   }
 
+  int structuralHash() {
+    return structuralHash;
+  }
+
+  void setStructuralHash(int structuralHash) {
+    this.structuralHash = structuralHash;
+  }
+
   public GrammarRuleKey getGrammarRuleKey() {
     return grammarRuleKey;
   }
@@ -158,6 +175,10 @@ public abstract class JavaTree implements Tree {
     @Nullable
     private final ModuleDeclarationTree moduleDeclaration;
     private final SyntaxToken eofToken;
+    @Nullable
+    private List<AbstractTypedTree> typedTrees;
+    @Nullable
+    private TreeKindIndex kindIndex;
 
     public CompilationUnitTreeImpl(@Nullable PackageDeclarationTree packageDeclaration, List<ImportClauseTree> imports, List<Tree> types,
       @Nullable ModuleDeclarationTree moduleDeclaration, SyntaxToken eofToken) {
@@ -218,6 +239,32 @@ public abstract class JavaTree implements Tree {
       return eofToken;
     }
 
+    /**
+     * Typed trees of this compilation unit, as recorded by the parser while linking parents,
+     * or {@code null} when the tree was not created by the parser.
+     */
+    @Nullable
+    public List<AbstractTypedTree> typedTrees() {
+      return typedTrees;
+    }
+
+    public void setTypedTrees(@Nullable List<AbstractTypedTree> typedTrees) {
+      this.typedTrees = typedTrees;
+    }
+
+    /**
+     * Nodes of this compilation unit grouped by kind, as recorded by the parser while linking parents,
+     * or {@code null} when the tree was not created by the parser.
+     */
+    @Nullable
+    public TreeKindIndex kindIndex() {
+      return kindIndex;
+    }
+
+    public void setKindIndex(@Nullable TreeKindIndex kindIndex) {
+      this.kindIndex = kindIndex;
+    }
+
   }
 
   public static class PackageDeclarationTreeImpl extends JavaTree implements PackageDeclarationTree {
@@ -20,15 +20,24 @@
 package org.sonar.java.model;
 
 import org.apache.commons.lang.StringUtils;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class LiteralUtils {
 
   private LiteralUtils() {
@@ -109,4 +118,263 @@ public class LiteralUtils {
     }
     return value;
   }
+
+  /**
+   * Value of a string or char literal: quotes are removed and escape sequences are unescaped.
+   */
+  public static String stringValue(LiteralTree literal) {
+    String value = trimQuotes(literal.value());
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder sb = new StringBuilder(value.length());
+    int i = 0;
+    while (i < value.length()) {
+      char c = value.charAt(i);
+      i++;
+      if (c != '\\' || i == value.length()) {
+        sb.append(c);
+        continue;
+      }
+      char escaped = value.charAt(i);
+      i++;
+      switch (escaped) {
+        case 'b':
+          sb.append('\b');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 'u':
+          while (i < value.length() && value.charAt(i) == 'u') {
+            i++;
+          }
+          sb.append((char) Integer.parseInt(value.substring(i, i + 4), 16));
+          i += 4;
+          break;
+        default:
+          if (escaped >= '0' && escaped <= '7') {
+            // octal escape: up to 3 digits, the first one being at most 3 when there are 3 digits
+            int end = Math.min(value.length(), i + (escaped <= '3' ? 2 : 1));
+            int start = i - 1;
+            while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '7') {
+              i++;
+            }
+            sb.append((char) Integer.parseInt(value.substring(start, i), 8));
+          } else {
+            // \" \' and \\
+            sb.append(escaped);
+          }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Folds compile-time constant expressions: literals, constant variables whose declaration is in the same file (requires the semantic),
+   * unary operators, string concatenations, and additions, subtractions and multiplications of integral values.
+   * @return the value as String, Character, Boolean, Integer, Long, Float or Double, or null when the expression is not a constant
+   * that can be folded.
+   */
+  @CheckForNull
+  public static Object constantValue(ExpressionTree expression) {
+    return constantValue(expression, new HashSet<>());
+  }
+
+  @CheckForNull
+  private static Object constantValue(ExpressionTree tree, Set<Symbol> evaluatedVariables) {
+    ExpressionTree expression = ExpressionUtils.skipParentheses(tree);
+    switch (expression.kind()) {
+      case STRING_LITERAL:
+        return stringValue((LiteralTree) expression);
+      case CHAR_LITERAL:
+        String charValue = stringValue((LiteralTree) expression);
+        return charValue.length() == 1 ? charValue.charAt(0) : null;
+      case BOOLEAN_LITERAL:
+        return Boolean.valueOf(((LiteralTree) expression).value());
+      case INT_LITERAL:
+      case LONG_LITERAL:
+      case FLOAT_LITERAL:
+      case DOUBLE_LITERAL:
+        return numberValue((LiteralTree) expression);
+      case UNARY_PLUS:
+      case UNARY_MINUS:
+      case BITWISE_COMPLEMENT:
+      case LOGICAL_COMPLEMENT:
+        return unaryValue(expression.kind(), constantValue(((UnaryExpressionTree) expression).expression(), evaluatedVariables));
+      case PLUS:
+      case MINUS:
+      case MULTIPLY:
+        BinaryExpressionTree binary = (BinaryExpressionTree) expression;
+        Object left = constantValue(binary.leftOperand(), evaluatedVariables);
+        Object right = left == null ? null : constantValue(binary.rightOperand(), evaluatedVariables);
+        return right == null ? null : binaryValue(expression.kind(), left, right);
+      case IDENTIFIER:
+        return variableValue(((IdentifierTree) expression).symbol(), evaluatedVariables);
+      case MEMBER_SELECT:
+        return variableValue(((MemberSelectExpressionTree) expression).identifier().symbol(), evaluatedVariables);
+      default:
+        return null;
+    }
+  }
+
+  @CheckForNull
+  private static Object numberValue(LiteralTree literal) {
+    String value = literal.value().replace("_", "");
+    try {
+      switch (literal.kind()) {
+        case INT_LITERAL:
+          long intValue = integralValue(value);
+          return (isDecimal(value) ? intValue <= Integer.MAX_VALUE : intValue <= 0xFFFF_FFFFL) ? (int) intValue : null;
+        case LONG_LITERAL:
+          return integralValue(trimLongSuffix(value));
+        case FLOAT_LITERAL:
+          return Float.valueOf(value);
+        default:
+          return Double.valueOf(value);
+      }
+    } catch (NumberFormatException e) {
+      // out of range literals do not compile, they are only valid as operand of an unary minus, which is not folded
+      return null;
+    }
+  }
+
+  private static boolean isDecimal(String value) {
+    return "0".equals(value) || value.charAt(0) != '0';
+  }
+
+  private static long integralValue(String value) {
+    String lowerCase = value.toLowerCase();
+    if (lowerCase.startsWith("0x")) {
+      return Long.parseUnsignedLong(value.substring(2), 16);
+    }
+    if (lowerCase.startsWith("0b")) {
+      return Long.parseUnsignedLong(value.substring(2), 2);
+    }
+    if (!isDecimal(value)) {
+      return Long.parseUnsignedLong(value.substring(1), 8);
+    }
+    return Long.parseLong(value);
+  }
+
+  @CheckForNull
+  private static Object unaryValue(Kind kind, @Nullable Object operand) {
+    Object value = operand instanceof Character ? (int) (Character) operand : operand;
+    if (kind == Kind.LOGICAL_COMPLEMENT) {
+      return value instanceof Boolean ? !(Boolean) value : null;
+    }
+    if (!(value instanceof Number)) {
+      return null;
+    }
+    if (kind == Kind.UNARY_PLUS) {
+      return value;
+    }
+    if (value instanceof Integer) {
+      return kind == Kind.UNARY_MINUS ? -(Integer) value : ~(Integer) value;
+    }
+    if (value instanceof Long) {
+      return kind == Kind.UNARY_MINUS ? -(Long) value : ~(Long) value;
+    }
+    if (kind == Kind.BITWISE_COMPLEMENT) {
+      return null;
+    }
+    return value instanceof Float ? (Object) (-(Float) value) : (Object) (-(Double) value);
+  }
+
+  @CheckForNull
+  private static Object binaryValue(Kind kind, Object left, Object right) {
+    if (kind == Kind.PLUS && (left instanceof String || right instanceof String)) {
+      return String.valueOf(left) + right;
+    }
+    Long leftValue = integralValue(left);
+    Long rightValue = integralValue(right);
+    if (leftValue == null || rightValue == null) {
+      // floating point arithmetic is not folded
+      return null;
+    }
+    long result;
+    if (kind == Kind.PLUS) {
+      result = leftValue + rightValue;
+    } else if (kind == Kind.MINUS) {
+      result = leftValue - rightValue;
+    } else {
+      result = leftValue * rightValue;
+    }
+    return left instanceof Long || right instanceof Long ? (Object) result : (Object) (int) result;
+  }
+
+  @CheckForNull
+  private static Long integralValue(Object value) {
+    if (value instanceof Character) {
+      return (long) (Character) value;
+    }
+    if (value instanceof Integer || value instanceof Long) {
+      return ((Number) value).longValue();
+    }
+    return null;
+  }
+
+  @CheckForNull
+  private static Object variableValue(Symbol symbol, Set<Symbol> evaluatedVariables) {
+    if (!symbol.isVariableSymbol() || !symbol.isFinal() || !isConstantType(symbol.type()) || !evaluatedVariables.add(symbol)) {
+      return null;
+    }
+    try {
+      VariableTree declaration = ((Symbol.VariableSymbol) symbol).declaration();
+      ExpressionTree initializer = declaration == null ? null : declaration.initializer();
+      return initializer == null ? null : assignmentConversion(constantValue(initializer, evaluatedVariables), symbol.type());
+    } finally {
+      // a variable is a cycle only while its own initializer is evaluated, it can be used several times in an expression
+      evaluatedVariables.remove(symbol);
+    }
+  }
+
+  /**
+   * Converts the value of an initializer to the type of the variable, as the compiler does: {@code static final int A = 'A'} is 65,
+   * and {@code static final long L = Integer.MAX_VALUE} is a long. Byte and short values are kept as Integer, like int values,
+   * as they are promoted to int by any operator.
+   */
+  @CheckForNull
+  private static Object assignmentConversion(@Nullable Object value, Type type) {
+    if (type.is("java.lang.String")) {
+      return value instanceof String ? value : null;
+    }
+    if (type.is("boolean")) {
+      return value instanceof Boolean ? value : null;
+    }
+    if (!(value instanceof Number) && !(value instanceof Character)) {
+      // does not compile
+      return null;
+    }
+    Number number = value instanceof Character ? Integer.valueOf((Character) value) : (Number) value;
+    if (type.is("char")) {
+      return (char) number.intValue();
+    }
+    if (type.is("byte")) {
+      return (int) number.byteValue();
+    }
+    if (type.is("short")) {
+      return (int) number.shortValue();
+    }
+    if (type.is("int")) {
+      return number.intValue();
+    }
+    if (type.is("long")) {
+      return number.longValue();
+    }
+    return type.is("float") ? (Object) number.floatValue() : (Object) number.doubleValue();
+  }
+
+  private static boolean isConstantType(Type type) {
+    return type.isPrimitive() || type.is("java.lang.String");
+  }
 }
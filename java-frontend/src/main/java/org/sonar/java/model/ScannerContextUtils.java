@@ -0,0 +1,76 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import org.sonar.java.ast.visitors.MetricsCache;
+import org.sonar.java.cfg.MethodAnalysisCache;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.List;
+
+/**
+ * Access to the per-file data shared by the checks of the analyzer, which are not part of the {@link JavaFileScannerContext} API.
+ * The data is shared when the context is a {@link DefaultJavaFileScannerContext}, and computed on each call for any other context.
+ */
+public final class ScannerContextUtils {
+
+  private ScannerContextUtils() {
+    // This class only contains static methods
+  }
+
+  /**
+   * @see DefaultJavaFileScannerContext#nodesOfKind(Tree.Kind...)
+   */
+  public static List<Tree> nodesOfKind(JavaFileScannerContext context, Tree.Kind... kinds) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).nodesOfKind(kinds);
+    }
+    return TreeKindIndex.of(context.getTree()).nodesOfKind(kinds);
+  }
+
+  /**
+   * @see DefaultJavaFileScannerContext#methodAnalysisCache()
+   */
+  public static MethodAnalysisCache methodAnalysisCache(JavaFileScannerContext context) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).methodAnalysisCache();
+    }
+    return new MethodAnalysisCache();
+  }
+
+  /**
+   * @see DefaultJavaFileScannerContext#metrics()
+   */
+  public static MetricsCache metrics(JavaFileScannerContext context) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).metrics();
+    }
+    return new MetricsCache();
+  }
+
+  /**
+   * @see DefaultJavaFileScannerContext#isIssueSuppressed(JavaCheck, Tree)
+   */
+  public static boolean isIssueSuppressed(JavaFileScannerContext context, JavaCheck javaCheck, Tree tree) {
+    return context instanceof DefaultJavaFileScannerContext && ((DefaultJavaFileScannerContext) context).isIssueSuppressed(javaCheck, tree);
+  }
+}
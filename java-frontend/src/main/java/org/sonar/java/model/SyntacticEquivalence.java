@@ -39,7 +39,7 @@ public final class SyntacticEquivalence {
    * @return true, if nodes are syntactically equivalent
    */
   public static boolean areEquivalent(List<? extends Tree> leftList, List<? extends Tree> rightList) {
-    if (leftList.size() != rightList.size()) {
+    if (leftList.size() != rightList.size() || hash(leftList) != hash(rightList)) {
       return false;
     }
     for (int i = 0; i < leftList.size(); i++) {
@@ -63,7 +63,7 @@ public final class SyntacticEquivalence {
     if (leftNode == rightNode) {
       return true;
     }
-    if (leftNode == null || rightNode == null) {
+    if (leftNode == null || rightNode == null || hash(leftNode) != hash(rightNode)) {
       return false;
     }
     if (leftNode.kind() != rightNode.kind() || leftNode.is(Tree.Kind.OTHER)) {
@@ -83,6 +83,66 @@ public final class SyntacticEquivalence {
     return !iteratorA.hasNext() && !iteratorB.hasNext();
   }
 
+  /**
+   * Structural hash of a list of nodes, consistent with {@link #areEquivalent(List, List)}:
+   * equivalent lists always have the same hash.
+   */
+  public static int hash(List<? extends Tree> trees) {
+    int result = 1;
+    for (Tree tree : trees) {
+      result = 31 * result + hash(tree);
+    }
+    return result;
+  }
+
+  /**
+   * Structural hash of a node, consistent with {@link #areEquivalent(Tree, Tree)}: equivalent nodes always have the same hash,
+   * so nodes with different hashes can be told apart without comparing them. Trivia do not contribute to the hash.
+   * The hash is computed once per node and cached on the tree.
+   */
+  public static int hash(@Nullable Tree node) {
+    if (node == null) {
+      return 0;
+    }
+    JavaTree javaTree = (JavaTree) node;
+    int result = javaTree.structuralHash();
+    if (result == 0) {
+      result = computeHash(javaTree);
+      // 0 is reserved to mark a hash which is not computed yet
+      if (result == 0) {
+        result = 1;
+      }
+      javaTree.setStructuralHash(result);
+    }
+    return result;
+  }
+
+  private static int computeHash(JavaTree node) {
+    if (node.is(Tree.Kind.OTHER)) {
+      // such nodes are only equivalent to themselves
+      return System.identityHashCode(node);
+    }
+    int result = node.kind().ordinal();
+    if (node.isLeaf()) {
+      return 31 * result + leafHash(node);
+    }
+    for (Tree child : node.getChildren()) {
+      result = 31 * result + hash(child);
+    }
+    return result;
+  }
+
+  private static int leafHash(JavaTree node) {
+    if (node instanceof IdentifierTree) {
+      return ((IdentifierTree) node).name().hashCode();
+    } else if (node instanceof PrimitiveTypeTree) {
+      return ((PrimitiveTypeTree) node).keyword().text().hashCode();
+    } else if (node instanceof SyntaxToken) {
+      return ((SyntaxToken) node).text().hashCode();
+    }
+    return 0;
+  }
+
   /**
    * Caller must guarantee that nodes of the same kind.
    */
@@ -0,0 +1,164 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nodes of a syntax tree grouped by {@link Tree.Kind}, in document order.
+ * The index of a parsed file is recorded by the parser, see {@link JavaTree.CompilationUnitTreeImpl#kindIndex()}.
+ */
+public class TreeKindIndex {
+
+  private final Map<Tree.Kind, Nodes> nodesByKind = new EnumMap<>(Tree.Kind.class);
+  private int count = 0;
+
+  /**
+   * Nodes have to be added in document order (pre-order).
+   */
+  public void add(Tree tree) {
+    nodesByKind.computeIfAbsent(tree.kind(), k -> new Nodes()).add(tree, count);
+    count++;
+  }
+
+  public boolean containsAny(Set<Tree.Kind> kinds) {
+    for (Tree.Kind kind : kinds) {
+      if (nodesByKind.containsKey(kind)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return unmodifiable list of the nodes having one of the given kinds, in document order
+   */
+  public List<Tree> nodesOfKind(Tree.Kind... kinds) {
+    Set<Tree.Kind> distinctKinds = EnumSet.noneOf(Tree.Kind.class);
+    Collections.addAll(distinctKinds, kinds);
+    List<Nodes> selected = new ArrayList<>(distinctKinds.size());
+    for (Tree.Kind kind : distinctKinds) {
+      Nodes nodes = nodesByKind.get(kind);
+      if (nodes != null) {
+        selected.add(nodes);
+      }
+    }
+    if (selected.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (selected.size() == 1) {
+      return selected.get(0).asList();
+    }
+    return Collections.unmodifiableList(merge(selected));
+  }
+
+  /**
+   * @return the index recorded by the parser for a compilation unit, or a new index of the given tree
+   */
+  public static TreeKindIndex of(Tree tree) {
+    if (tree instanceof JavaTree.CompilationUnitTreeImpl) {
+      TreeKindIndex recorded = ((JavaTree.CompilationUnitTreeImpl) tree).kindIndex();
+      if (recorded != null) {
+        return recorded;
+      }
+    }
+    TreeKindIndex index = new TreeKindIndex();
+    Deque<Tree> stack = new ArrayDeque<>();
+    stack.push(tree);
+    while (!stack.isEmpty()) {
+      JavaTree javaTree = (JavaTree) stack.pop();
+      index.add(javaTree);
+      if (!javaTree.isLeaf()) {
+        List<Tree> children = javaTree.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--) {
+          stack.push(children.get(i));
+        }
+      }
+    }
+    return index;
+  }
+
+  private static List<Tree> merge(List<Nodes> selected) {
+    int size = 0;
+    for (Nodes nodes : selected) {
+      size += nodes.size;
+    }
+    List<Tree> result = new ArrayList<>(size);
+    int[] positions = new int[selected.size()];
+    for (int n = 0; n < size; n++) {
+      int next = -1;
+      for (int i = 0; i < positions.length; i++) {
+        Nodes nodes = selected.get(i);
+        if (positions[i] < nodes.size && (next == -1 || nodes.order[positions[i]] < selected.get(next).order[positions[next]])) {
+          next = i;
+        }
+      }
+      result.add(selected.get(next).trees[positions[next]]);
+      positions[next]++;
+    }
+    return result;
+  }
+
+  private static class Nodes {
+    private Tree[] trees = new Tree[4];
+    private int[] order = new int[4];
+    private int size = 0;
+
+    void add(Tree tree, int position) {
+      if (size == trees.length) {
+        trees = Arrays.copyOf(trees, size * 2);
+        order = Arrays.copyOf(order, size * 2);
+      }
+      trees[size] = tree;
+      order[size] = position;
+      size++;
+    }
+
+    List<Tree> asList() {
+      return new AbstractList<Tree>() {
+        @Override
+        public Tree get(int index) {
+          if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+          }
+          return trees[index];
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+  }
+
+}
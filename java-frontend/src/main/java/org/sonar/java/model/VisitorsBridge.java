@@ -29,6 +29,8 @@ import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
 import org.sonar.java.bytecode.ClassLoaderBuilder;
 import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.cfg.MethodAnalysisCache;
+import org.sonar.java.filters.CodeVisitorIssueFilter;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.se.SymbolicExecutionMode;
 import org.sonar.java.se.SymbolicExecutionVisitor;
@@ -45,9 +47,6 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
 
 public class VisitorsBridge {
 
@@ -61,8 +60,10 @@ public class VisitorsBridge {
   private SemanticModel semanticModel;
   protected File currentFile;
   protected JavaVersion javaVersion;
-  private Set<String> classesNotFound = new TreeSet<>();
+  private final ClassesNotFoundReport classesNotFoundReport = new ClassesNotFoundReport();
   private final SquidClassLoader classLoader;
+  private int methodAnalysisCacheHits = 0;
+  private int methodAnalysisCacheMisses = 0;
 
   @VisibleForTesting
   public VisitorsBridge(JavaFileScanner visitor) {
@@ -98,31 +99,90 @@ public class VisitorsBridge {
     semanticModel = null;
     CompilationUnitTree tree = new JavaTree.CompilationUnitTreeImpl(null, new ArrayList<>(), new ArrayList<>(), null, null);
     boolean fileParsed = parsedTree != null;
+    boolean reducedAnalysis = false;
     if (fileParsed && parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
       tree = (CompilationUnitTree) parsedTree;
-      if (isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
+      reducedAnalysis = isLargeFile();
+      if (reducedAnalysis) {
+        LOG.info("File exceeds " + sonarComponents.largeFileThreshold() + " lines, analyzing it without semantic model nor symbolic execution: "
+          + currentFile.getAbsolutePath());
+        SemanticModel.handleMissingTypes(tree);
+      } else if (isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
         try {
           semanticModel = SemanticModel.createFor(tree, classLoader);
         } catch (Exception e) {
           LOG.error("Unable to create symbol table for : " + currentFile.getAbsolutePath(), e);
           return;
+        } catch (StackOverflowError error) {
+          LOG.error("A stack overflow error occured while creating symbol table for : " + currentFile.getAbsolutePath()
+            + ", analyzing it without semantic model nor symbolic execution");
+          reducedAnalysis = true;
+          SemanticModel.handleMissingTypes(tree);
+        }
+        if (semanticModel != null) {
+          createSonarSymbolTable(tree);
         }
-        createSonarSymbolTable(tree);
       } else {
         SemanticModel.handleMissingTypes(tree);
       }
     }
-    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, semanticModel, sonarComponents, fileParsed);
+    DefaultJavaFileScannerContext javaFileScannerContext = createScannerContext(tree, semanticModel, sonarComponents, fileParsed);
+    // Issue filters first, so that checks can tell which of their issues would be suppressed before computing them
+    for (JavaFileScanner scanner : executableScanners) {
+      if (scanner instanceof CodeVisitorIssueFilter) {
+        scan(scanner, javaFileScannerContext, reducedAnalysis);
+      }
+    }
     // Symbolic execution checks
-    if (symbolicExecutionEnabled && isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
-      new SymbolicExecutionVisitor(executableScanners, behaviorCache).scanFile(javaFileScannerContext);
-      behaviorCache.cleanup();
+    if (symbolicExecutionEnabled && !reducedAnalysis && isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
+      runSymbolicExecution(javaFileScannerContext);
     }
     for (JavaFileScanner scanner : executableScanners) {
-      scanner.scanFile(javaFileScannerContext);
+      if (!(scanner instanceof CodeVisitorIssueFilter)) {
+        scan(scanner, javaFileScannerContext, reducedAnalysis);
+      }
     }
+    releaseMethodAnalyses(javaFileScannerContext.methodAnalysisCache());
+    javaFileScannerContext.metrics().clear();
     if (semanticModel != null) {
-      classesNotFound.addAll(semanticModel.classesNotFound());
+      classesNotFoundReport.add(semanticModel.classesNotFound(), currentFile);
+    }
+  }
+
+  /**
+   * Files under reduced analysis are typically huge or deeply nested: a scanner overflowing the stack on such a file is skipped
+   * for this file only, instead of failing the whole analysis.
+   */
+  private void scan(JavaFileScanner scanner, JavaFileScannerContext javaFileScannerContext, boolean reducedAnalysis) {
+    if (!reducedAnalysis) {
+      scanner.scanFile(javaFileScannerContext);
+      return;
+    }
+    try {
+      scanner.scanFile(javaFileScannerContext);
+    } catch (StackOverflowError error) {
+      LOG.error("A stack overflow error occured while running " + scanner.getClass().getName() + " on : " + currentFile.getAbsolutePath()
+        + ", its issues on this file are skipped");
+    }
+  }
+
+  private void releaseMethodAnalyses(MethodAnalysisCache methodAnalysisCache) {
+    methodAnalysisCacheHits += methodAnalysisCache.hits();
+    methodAnalysisCacheMisses += methodAnalysisCache.misses();
+    methodAnalysisCache.clear();
+  }
+
+  private boolean isLargeFile() {
+    return sonarComponents != null && sonarComponents.isLargeFile(currentFile);
+  }
+
+  private void runSymbolicExecution(JavaFileScannerContext javaFileScannerContext) {
+    try {
+      new SymbolicExecutionVisitor(executableScanners, behaviorCache).scanFile(javaFileScannerContext);
+    } catch (StackOverflowError error) {
+      LOG.error("A stack overflow error occured during symbolic execution of : " + currentFile.getAbsolutePath());
+    } finally {
+      behaviorCache.cleanup();
     }
   }
 
@@ -136,7 +196,7 @@ public class VisitorsBridge {
     return results.build();
   }
 
-  protected JavaFileScannerContext createScannerContext(
+  protected DefaultJavaFileScannerContext createScannerContext(
     CompilationUnitTree tree, SemanticModel semanticModel, SonarComponents sonarComponents, boolean fileParsed) {
     return new DefaultJavaFileScannerContext(
       tree,
@@ -186,13 +246,8 @@ public class VisitorsBridge {
   }
 
   public void endOfAnalysis() {
-    if(!classesNotFound.isEmpty()) {
-      String message = "";
-      if(classesNotFound.size() > 50) {
-        message = ", ...";
-      }
-      LOG.warn("Classes not found during the analysis : [{}{}]", classesNotFound.stream().limit(50).collect(Collectors.joining(", ")), message);
-    }
+    classesNotFoundReport.log(LOG);
+    LOG.debug("Method CFG and liveness cache: " + methodAnalysisCacheHits + " hits, " + methodAnalysisCacheMisses + " misses");
     classLoader.close();
   }
 }
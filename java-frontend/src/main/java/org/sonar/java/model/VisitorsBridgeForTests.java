@@ -36,7 +36,6 @@ import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.se.SymbolicExecutionMode;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
-import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaVersion;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -63,8 +62,8 @@ public class VisitorsBridgeForTests extends VisitorsBridge {
   }
 
   @Override
-  protected JavaFileScannerContext createScannerContext(CompilationUnitTree tree, SemanticModel semanticModel,
-                                                        SonarComponents sonarComponents, boolean failedParsing) {
+  protected DefaultJavaFileScannerContext createScannerContext(CompilationUnitTree tree, SemanticModel semanticModel,
+                                                               SonarComponents sonarComponents, boolean failedParsing) {
     SemanticModel model = enableSemantic ? semanticModel : null;
     testContext = new TestJavaFileScannerContext(tree, currentFile, model, sonarComponents, javaVersion, failedParsing);
     return testContext;
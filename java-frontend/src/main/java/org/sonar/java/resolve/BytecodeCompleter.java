@@ -27,15 +27,16 @@ import com.google.common.io.ByteStreams;
 import com.google.common.io.Closeables;
 import org.apache.commons.lang.StringUtils;
 import org.objectweb.asm.ClassReader;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 
 public class BytecodeCompleter implements JavaSymbol.Completer {
 
@@ -48,7 +49,7 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   private final Map<String, JavaSymbol.TypeJavaSymbol> classes = new HashMap<>();
   private final Map<String, JavaSymbol.PackageJavaSymbol> packages = new HashMap<>();
 
-  private Set<String> classesNotFound = new TreeSet<>();
+  private Set<String> classesNotFound = new HashSet<>();
 
   public BytecodeCompleter(ClassLoader classLoader, ParametrizedTypeCache parametrizedTypeCache) {
     this.classLoader = classLoader;
@@ -220,17 +221,23 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
       return symbol;
     }
 
-    byte[] bytesForClass = bytesForClass(fullname);
-    if (bytesForClass == null) {
+    if (!hasClassFile(fullname)) {
       return new Resolve.JavaSymbolNotFound();
     }
+    return getClassSymbol(fullname);
+  }
 
-    ClassReader classReader = new ClassReader(bytesForClass);
-    String className = classReader.getClassName();
-    if (!className.equals(Convert.bytecodeName(fullname))) {
-      return new Resolve.JavaSymbolNotFound();
+  private boolean hasClassFile(String fullname) {
+    if (classLoader instanceof SquidClassLoader) {
+      // shared by all files analyzed with the same class loader
+      return ((SquidClassLoader) classLoader).classFileIndex().exists(fullname);
     }
-    return getClassSymbol(fullname);
+    byte[] bytesForClass = bytesForClass(fullname);
+    if (bytesForClass == null) {
+      return false;
+    }
+    ClassReader classReader = new ClassReader(bytesForClass);
+    return classReader.getClassName().equals(Convert.bytecodeName(fullname));
   }
 
   public JavaSymbol.PackageJavaSymbol enterPackage(String fullname) {
@@ -70,6 +70,7 @@ public class JavaSymbol implements Symbol {
   boolean completing = false;
   private ImmutableList.Builder<IdentifierTree> usagesBuilder;
   private List<IdentifierTree> usages;
+  private SymbolWrites writes;
 
   public JavaSymbol(int kind, int flags, @Nullable String name, @Nullable JavaSymbol owner) {
     this.kind = kind;
@@ -268,6 +269,16 @@ public class JavaSymbol implements Symbol {
     return usages;
   }
 
+  /**
+   * Writes to this symbol among its usages, computed once.
+   */
+  public SymbolWrites writes() {
+    if (writes == null) {
+      writes = SymbolWrites.of(usages());
+    }
+    return writes;
+  }
+
   @Nullable
   @Override
   public Tree declaration() {
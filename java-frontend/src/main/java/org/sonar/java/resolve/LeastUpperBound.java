@@ -21,6 +21,7 @@ package org.sonar.java.resolve;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
@@ -42,10 +43,13 @@ import java.util.stream.Collectors;
 
 public class LeastUpperBound {
 
+  private static final int MEMO_MAX_SIZE = 1_000;
+
   private final Symbols symbols;
   private final ParametrizedTypeCache parametrizedTypeCache;
   private final TypeSubstitutionSolver typeSubstitutionSolver;
   private final Set<Set<Type>> lubCache = new HashSet<>();
+  private final MemoTable<Set<Type>, Type> lubMemo = new MemoTable<>(MEMO_MAX_SIZE);
 
   public LeastUpperBound(TypeSubstitutionSolver typeSubstitutionSolver, ParametrizedTypeCache parametrizedTypeCache, Symbols symbols) {
     this.symbols = symbols;
@@ -61,13 +65,18 @@ public class LeastUpperBound {
    * in catch trees. Note that Exceptions (any subclass of Throwable) cannot be generic (jls8 §8.1.2, §11.1.1: "compile-time error if a generic
    * class is a direct or indirect subclass of Throwable")
    *
+   * Results are memoized for the lifetime of this instance (i.e. of the semantic model), keyed by the set of types
+   * whatever their iteration order: equal sets of types share the same result.
+   *
    * @param types
    * @return the least upper bound of the types
    */
   public Type leastUpperBound(Set<Type> types) {
-    Type lub = cachedLeastUpperBound(types);
-    lubCache.clear();
-    return lub;
+    return lubMemo.computeIfAbsent(ImmutableSet.copyOf(types), key -> {
+      Type lub = cachedLeastUpperBound(types);
+      lubCache.clear();
+      return lub;
+    });
   }
 
   private Type cachedLeastUpperBound(Set<Type> types) {
@@ -0,0 +1,72 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded memoization table used to keep results of type computations (least upper bound, site substitutions...) for the lifetime
+ * of a semantic model. When the table is full, least recently used entries are evicted.
+ */
+class MemoTable<K, V> {
+
+  private final Map<K, V> values;
+  private int hits = 0;
+  private int misses = 0;
+
+  MemoTable(int maxSize) {
+    this.values = new LinkedHashMap<K, V>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the memoized value for the key, computing and storing it if absent. Unlike {@link Map#computeIfAbsent}, the computation
+   * is allowed to use the table recursively.
+   */
+  V computeIfAbsent(K key, Function<K, V> computation) {
+    V value = values.get(key);
+    if (value != null) {
+      hits++;
+      return value;
+    }
+    misses++;
+    value = computation.apply(key);
+    values.put(key, value);
+    return value;
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  int hits() {
+    return hits;
+  }
+
+  int misses() {
+    return misses;
+  }
+}
@@ -22,10 +22,11 @@ package org.sonar.java.resolve;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents an area of visibility.
@@ -81,61 +82,83 @@ public class Scope {
       scopeSymbols.add(symbol);
     }
   }
-  public static class StarImportScope extends ImportScope {
+  /**
+   * Scope of on-demand imports. Symbols imported for a given name are resolved lazily against every imported site, and kept in a
+   * name index (including misses) until a new site is entered.
+   */
+  abstract static class OnDemandImportScope extends ImportScope {
 
-    private final BytecodeCompleter bytecodeCompleter;
+    protected final BytecodeCompleter bytecodeCompleter;
+    private final Map<String, List<JavaSymbol>> importedSymbolsByName = new HashMap<>();
 
-    public StarImportScope(JavaSymbol owner, BytecodeCompleter bytecodeCompleter) {
+    OnDemandImportScope(JavaSymbol owner, BytecodeCompleter bytecodeCompleter) {
       super(owner);
       this.bytecodeCompleter = bytecodeCompleter;
     }
 
+    @Override
+    public void enter(JavaSymbol symbol) {
+      super.enter(symbol);
+      importedSymbolsByName.clear();
+    }
+
     @Override
     public List<JavaSymbol> lookup(String name) {
-      List<JavaSymbol> symbolsList = Lists.newArrayList();
-      for (JavaSymbol site : symbols.values()) {
-        JavaSymbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
-        if (symbol.kind < JavaSymbol.ERRONEOUS) {
-          symbolsList.add(symbol);
+      List<JavaSymbol> importedSymbols = importedSymbolsByName.get(name);
+      if (importedSymbols == null) {
+        List<JavaSymbol> symbolsList = new ArrayList<>();
+        for (JavaSymbol site : symbols.values()) {
+          lookupInSite(site, name, symbolsList);
         }
+        importedSymbols = symbolsList.isEmpty() ? ImmutableList.of() : ImmutableList.copyOf(symbolsList);
+        importedSymbolsByName.put(name, importedSymbols);
       }
-      return symbolsList;
+      return importedSymbols;
     }
+
+    abstract void lookupInSite(JavaSymbol site, String name, List<JavaSymbol> symbolsList);
   }
 
-  public static class StaticStarImportScope extends ImportScope {
+  public static class StarImportScope extends OnDemandImportScope {
+
+    public StarImportScope(JavaSymbol owner, BytecodeCompleter bytecodeCompleter) {
+      super(owner, bytecodeCompleter);
+    }
+
+    @Override
+    void lookupInSite(JavaSymbol site, String name, List<JavaSymbol> symbolsList) {
+      JavaSymbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
+      if (symbol.kind < JavaSymbol.ERRONEOUS) {
+        symbolsList.add(symbol);
+      }
+    }
+  }
 
-    private final BytecodeCompleter bytecodeCompleter;
+  public static class StaticStarImportScope extends OnDemandImportScope {
 
     public StaticStarImportScope(JavaSymbol owner, BytecodeCompleter bytecodeCompleter) {
-      super(owner);
-      this.bytecodeCompleter = bytecodeCompleter;
+      super(owner, bytecodeCompleter);
     }
 
     @Override
-    public List<JavaSymbol> lookup(String name) {
-      List<JavaSymbol> symbolsList = Lists.newArrayList();
-      for (JavaSymbol site : symbols.values()) {
-        // site is a package, try to load referenced type.
-        if ((site.kind & JavaSymbol.PCK) != 0) {
-          JavaSymbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
-          if (symbol.kind < JavaSymbol.ERRONEOUS) {
-            symbolsList.add(symbol);
-          }
-        }
-
-        // site is a type, try to find a matching type or field
-        if ((site.kind & JavaSymbol.TYP) != 0 && site.kind < JavaSymbol.ERRONEOUS) {
-          List<JavaSymbol> resolved = ((JavaSymbol.TypeJavaSymbol) site).members().lookup(name);
-          resolved.stream()
-            // TODO check accessibility
-            // TODO factorize with static named import ?
-            .filter(symbol -> symbol.kind < JavaSymbol.ERRONEOUS && Flags.isFlagged(symbol.flags, Flags.STATIC))
-            .forEach(symbolsList::add);
+    void lookupInSite(JavaSymbol site, String name, List<JavaSymbol> symbolsList) {
+      // site is a package, try to load referenced type.
+      if ((site.kind & JavaSymbol.PCK) != 0) {
+        JavaSymbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
+        if (symbol.kind < JavaSymbol.ERRONEOUS) {
+          symbolsList.add(symbol);
         }
+      }
 
+      // site is a type, try to find a matching type or field
+      if ((site.kind & JavaSymbol.TYP) != 0 && site.kind < JavaSymbol.ERRONEOUS) {
+        List<JavaSymbol> resolved = ((JavaSymbol.TypeJavaSymbol) site).members().lookup(name);
+        resolved.stream()
+          // TODO check accessibility
+          // TODO factorize with static named import ?
+          .filter(symbol -> symbol.kind < JavaSymbol.ERRONEOUS && Flags.isFlagged(symbol.flags, Flags.STATIC))
+          .forEach(symbolsList::add);
       }
-      return symbolsList;
     }
   }
 
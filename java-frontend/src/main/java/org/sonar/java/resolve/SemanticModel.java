@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -74,7 +75,13 @@ public class SemanticModel {
    */
   public static void handleMissingTypes(Tree tree) {
     // (Godin): Another and probably better (safer) way to do the same - is to assign default value during creation of nodes, so that to guarantee that this step won't be skipped.
-    new MissingTypeHandler().handleMissingTypes(tree);
+    List<AbstractTypedTree> typedTrees = tree instanceof JavaTree.CompilationUnitTreeImpl ? ((JavaTree.CompilationUnitTreeImpl) tree).typedTrees() : null;
+    if (typedTrees != null) {
+      // parents are already linked by the parser, which also recorded every typed tree of the file
+      typedTrees.forEach(AbstractTypedTree::completeMissingType);
+    } else {
+      new MissingTypeHandler().handleMissingTypes(tree);
+    }
   }
 
 
@@ -0,0 +1,125 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes to a variable, computed once from its usages: assignments of any kind and increments/decrements
+ * whose target is a usage of the variable (possibly parenthesized), sorted by position in the file.
+ * Writes through a member select ({@code this.field = value}) are not included.
+ */
+public final class SymbolWrites {
+
+  private static final Comparator<Tree> BY_POSITION = Comparator
+    .comparingInt((Tree tree) -> tree.firstToken().line())
+    .thenComparingInt(tree -> tree.firstToken().column());
+
+  private final List<ExpressionTree> writes;
+  private final List<AssignmentExpressionTree> assignments;
+
+  private SymbolWrites(List<ExpressionTree> writes, List<AssignmentExpressionTree> assignments) {
+    this.writes = writes;
+    this.assignments = assignments;
+  }
+
+  static SymbolWrites of(List<IdentifierTree> usages) {
+    ImmutableList.Builder<ExpressionTree> writes = ImmutableList.builder();
+    ImmutableList.Builder<AssignmentExpressionTree> assignments = ImmutableList.builder();
+    for (IdentifierTree usage : usages) {
+      ExpressionTree write = writeOf(usage);
+      if (write instanceof AssignmentExpressionTree) {
+        assignments.add((AssignmentExpressionTree) write);
+      }
+      if (write != null) {
+        writes.add(write);
+      }
+    }
+    return new SymbolWrites(sorted(writes.build()), sorted(assignments.build()));
+  }
+
+  private static <T extends Tree> List<T> sorted(List<T> trees) {
+    return trees.size() < 2 ? trees : Ordering.from(BY_POSITION).immutableSortedCopy(trees);
+  }
+
+  @CheckForNull
+  private static ExpressionTree writeOf(IdentifierTree usage) {
+    Tree target = usage;
+    Tree parent = usage.parent();
+    while (parent != null && parent.is(Tree.Kind.PARENTHESIZED_EXPRESSION)) {
+      target = parent;
+      parent = parent.parent();
+    }
+    if (parent instanceof AssignmentExpressionTree && ((AssignmentExpressionTree) parent).variable() == target) {
+      return (AssignmentExpressionTree) parent;
+    }
+    if (parent != null && parent.is(Tree.Kind.PREFIX_INCREMENT, Tree.Kind.PREFIX_DECREMENT, Tree.Kind.POSTFIX_INCREMENT, Tree.Kind.POSTFIX_DECREMENT)) {
+      return (UnaryExpressionTree) parent;
+    }
+    return null;
+  }
+
+  /**
+   * @return assignments and increments/decrements of the variable, in document order.
+   */
+  public List<ExpressionTree> writes() {
+    return writes;
+  }
+
+  /**
+   * @return assignments of the variable, in document order.
+   */
+  public List<AssignmentExpressionTree> assignments() {
+    return assignments;
+  }
+
+  /**
+   * @return the last assignment of the variable starting before the given tree, in document order, null if there is none.
+   */
+  @CheckForNull
+  public AssignmentExpressionTree lastAssignmentBefore(Tree tree) {
+    SyntaxToken token = tree.firstToken();
+    // binary search of the first assignment starting at or after the token
+    int low = 0;
+    int high = assignments.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (BY_POSITION.compare(assignments.get(middle), token) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low == 0 ? null : assignments.get(low - 1);
+  }
+
+}
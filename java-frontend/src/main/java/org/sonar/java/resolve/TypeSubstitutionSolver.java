@@ -27,6 +27,7 @@ import org.sonar.plugins.java.api.semantic.Type;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -38,11 +39,14 @@ import java.util.stream.Collectors;
 
 public class TypeSubstitutionSolver {
 
+  private static final int MEMO_MAX_SIZE = 1_000;
+
   private final ParametrizedTypeCache parametrizedTypeCache;
   private final Symbols symbols;
   private final LeastUpperBound leastUpperBound;
   private final TypeInferenceSolver typeInferenceSolver;
   private Deque<JavaSymbol.TypeVariableJavaSymbol> typevarExplored = new LinkedList<>();
+  private final MemoTable<FormalsAtSite, List<JavaType>> siteSubstitutedFormals = new MemoTable<>(MEMO_MAX_SIZE);
 
   public TypeSubstitutionSolver(ParametrizedTypeCache parametrizedTypeCache, Symbols symbols) {
     this.parametrizedTypeCache = parametrizedTypeCache;
@@ -139,13 +143,18 @@ public class TypeSubstitutionSolver {
     return true;
   }
 
+  /**
+   * Formal parameters seen from a site are requested for each overload candidate and each invocation on that site, result is then memoized.
+   */
   List<JavaType> applySiteSubstitutionToFormalParameters(List<JavaType> formals, JavaType site) {
     if(formals.isEmpty()) {
       return formals;
     }
-    Set<Type> visited = new HashSet<>();
-    visited.add(site);
-    return applySiteSubstitutionToFormalParameters(formals, site, visited);
+    return siteSubstitutedFormals.computeIfAbsent(new FormalsAtSite(formals, site), key -> {
+      Set<Type> visited = new HashSet<>();
+      visited.add(site);
+      return applySiteSubstitutionToFormalParameters(formals, site, visited);
+    });
   }
 
   @VisibleForTesting
@@ -380,4 +389,31 @@ public class TypeSubstitutionSolver {
     }
     return result;
   }
+
+  private static final class FormalsAtSite {
+    private final List<JavaType> formals;
+    private final JavaType site;
+
+    private FormalsAtSite(List<JavaType> formals, JavaType site) {
+      this.formals = new ArrayList<>(formals);
+      this.site = site;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      FormalsAtSite that = (FormalsAtSite) o;
+      return site == that.site && formals.equals(that.formals);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(formals, site);
+    }
+  }
 }
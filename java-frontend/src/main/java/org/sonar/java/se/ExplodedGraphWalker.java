@@ -46,6 +46,7 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.java.DebugCheck;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
+import org.sonar.java.cfg.MethodAnalysisCache;
 import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.matcher.MethodMatcherCollection;
 import org.sonar.java.model.ExpressionUtils;
@@ -73,6 +74,7 @@ import org.sonar.java.se.xproc.BehaviorCache;
 import org.sonar.java.se.xproc.MethodBehavior;
 import org.sonar.java.se.xproc.MethodYield;
 import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata;
 import org.sonar.plugins.java.api.semantic.Type;
@@ -135,6 +137,8 @@ public class ExplodedGraphWalker {
   ProgramPoint programPosition;
   ProgramState programState;
   private LiveVariables liveVariables;
+  @Nullable
+  private MethodAnalysisCache methodAnalysisCache;
   @VisibleForTesting
   CheckerDispatcher checkerDispatcher;
   private CFG.Block exitBlock;
@@ -188,10 +192,16 @@ public class ExplodedGraphWalker {
 
   @VisibleForTesting
   protected ExplodedGraphWalker(List<SECheck> seChecks, BehaviorCache behaviorCache, SemanticModel semanticModel) {
+    this(seChecks, behaviorCache, semanticModel, null);
+  }
+
+  private ExplodedGraphWalker(List<SECheck> seChecks, BehaviorCache behaviorCache, SemanticModel semanticModel,
+                              @Nullable MethodAnalysisCache methodAnalysisCache) {
     this.alwaysTrueOrFalseExpressionCollector = new AlwaysTrueOrFalseExpressionCollector();
     this.checkerDispatcher = new CheckerDispatcher(this, seChecks);
     this.behaviorCache = behaviorCache;
     this.semanticModel = semanticModel;
+    this.methodAnalysisCache = methodAnalysisCache;
   }
 
   public MethodBehavior visitMethod(MethodTree tree) {
@@ -209,10 +219,10 @@ public class ExplodedGraphWalker {
   }
 
   private void execute(MethodTree tree) {
-    CFG cfg = CFG.build(tree);
+    CFG cfg = methodAnalysisCache == null ? CFG.build(tree) : methodAnalysisCache.cfg(tree);
     exitBlock = cfg.exitBlock();
     checkerDispatcher.init(tree, cfg);
-    liveVariables = LiveVariables.analyze(cfg);
+    liveVariables = methodAnalysisCache == null ? LiveVariables.analyze(cfg) : methodAnalysisCache.liveVariables(tree);
     explodedGraph = new ExplodedGraph();
     methodTree = tree;
     constraintManager = new ConstraintManager();
@@ -1167,10 +1177,18 @@ public class ExplodedGraphWalker {
       seChecks.addAll(checks);
     }
 
+    public void setScannerContext(@Nullable JavaFileScannerContext scannerContext) {
+      seChecks.forEach(check -> check.setScannerContext(scannerContext));
+    }
+
     public ExplodedGraphWalker createWalker(BehaviorCache behaviorCache, SemanticModel semanticModel) {
       return new ExplodedGraphWalker(seChecks, behaviorCache, semanticModel);
     }
 
+    public ExplodedGraphWalker createWalker(BehaviorCache behaviorCache, SemanticModel semanticModel, @Nullable MethodAnalysisCache methodAnalysisCache) {
+      return new ExplodedGraphWalker(seChecks, behaviorCache, semanticModel, methodAnalysisCache);
+    }
+
     @SuppressWarnings("unchecked")
     private static <T extends SECheck> T removeOrDefault(List<SECheck> checks, T defaultInstance) {
       Iterator<SECheck> iterator = checks.iterator();
@@ -25,6 +25,7 @@ import java.util.List;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.java.resolve.Flags;
 import org.sonar.java.resolve.JavaSymbol;
 import org.sonar.java.resolve.SemanticModel;
@@ -51,7 +52,12 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
   @Override
   public void scanFile(JavaFileScannerContext context) {
     behaviorCache.setFileContext(this, (SemanticModel) context.getSemanticModel());
-    super.scanFile(context);
+    egwFactory.setScannerContext(context);
+    try {
+      super.scanFile(context);
+    } finally {
+      egwFactory.setScannerContext(null);
+    }
   }
 
   @Override
@@ -88,7 +94,7 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
 
   @VisibleForTesting
   protected ExplodedGraphWalker getWalker() {
-    return egwFactory.createWalker(behaviorCache, (SemanticModel) context.getSemanticModel());
+    return egwFactory.createWalker(behaviorCache, (SemanticModel) context.getSemanticModel(), ScannerContextUtils.methodAnalysisCache(context));
   }
 
   public static boolean methodCanNotBeOverriden(Symbol.MethodSymbol methodSymbol) {
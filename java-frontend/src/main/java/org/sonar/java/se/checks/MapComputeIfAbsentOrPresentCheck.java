@@ -148,7 +148,10 @@ public class MapComputeIfAbsentOrPresentCheck extends SECheck implements JavaVer
   @Override
   public void checkEndOfExecution(CheckerContext context) {
     SECheck check = this;
-    checkIssues.stream().filter(checkIssue -> checkIssue.isOnlyPossibleIssueForReportTree(checkIssues)).forEach(issue -> issue.report(context, check));
+    checkIssues.stream()
+      .filter(checkIssue -> checkIssue.isOnlyPossibleIssueForReportTree(checkIssues))
+      .filter(checkIssue -> !isIssueSuppressed(checkIssue.getInvocation))
+      .forEach(issue -> issue.report(context, check));
   }
 
   private static class CheckIssue {
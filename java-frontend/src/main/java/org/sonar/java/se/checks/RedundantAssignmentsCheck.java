@@ -104,7 +104,7 @@ public class RedundantAssignmentsCheck extends SECheck {
   public void checkEndOfExecution(CheckerContext context) {
     for (Map.Entry<AssignmentExpressionTree, Collection<AssignmentDataHolder>> assignmentForTree : assignmentsByMethod.pop().asMap().entrySet()) {
       Collection<AssignmentDataHolder> allAssignments = assignmentForTree.getValue();
-      if (allAssignments.stream().allMatch(AssignmentDataHolder::isRedundant)) {
+      if (allAssignments.stream().allMatch(AssignmentDataHolder::isRedundant) && !isIssueSuppressed(assignmentForTree.getKey())) {
         Set<Flow> flows = allAssignments.stream().map(AssignmentDataHolder::flows).flatMap(Set::stream).collect(Collectors.toSet());
         reportIssue(assignmentForTree.getKey(),
           String.format("Remove this useless assignment; \"%s\" already holds the assigned value along all execution paths.",
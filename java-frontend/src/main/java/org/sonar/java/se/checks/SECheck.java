@@ -20,6 +20,7 @@
 package org.sonar.java.se.checks;
 
 import org.sonar.java.cfg.CFG;
+import org.sonar.java.model.ScannerContextUtils;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.Flow;
 import org.sonar.java.se.ProgramState;
@@ -34,11 +35,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 public abstract class SECheck implements JavaFileScanner {
 
   protected Set<SEIssue> issues = new HashSet<>();
 
+  @Nullable
+  private JavaFileScannerContext scannerContext;
+
   public void init(MethodTree methodTree, CFG cfg) {
 
   }
@@ -67,6 +72,20 @@ public abstract class SECheck implements JavaFileScanner {
     issues.clear();
   }
 
+  /**
+   * Set for the duration of the symbolic execution of a file, to know which issues would be suppressed.
+   */
+  public void setScannerContext(@Nullable JavaFileScannerContext scannerContext) {
+    this.scannerContext = scannerContext;
+  }
+
+  /**
+   * @return true if an issue of this check on the given tree would not be reported, in which case there is no need to compute its flows.
+   */
+  public boolean isIssueSuppressed(Tree tree) {
+    return scannerContext != null && ScannerContextUtils.isIssueSuppressed(scannerContext, this, tree);
+  }
+
   public void reportIssue(Tree tree, String message) {
     reportIssue(tree, message, Collections.emptySet());
   }
@@ -114,7 +114,9 @@ public class StreamConsumedCheck extends SECheck {
     SymbolicValue invocationTarget = invocationTarget(programState, mit);
     if ((isIntermediateOperation(mit) || isTerminalOperation(mit))
         && isPipelineConsumed(programState, invocationTarget)) {
-      reportIssue(mit, "Refactor this code so that this consumed stream pipeline is not reused.", flow(invocationTarget, context.getNode()));
+      if (!isIssueSuppressed(mit)) {
+        reportIssue(mit, "Refactor this code so that this consumed stream pipeline is not reused.", flow(invocationTarget, context.getNode()));
+      }
       return null;
     }
     if (isIntermediateOperation(mit)) {
@@ -142,7 +144,9 @@ public class StreamConsumedCheck extends SECheck {
           return programState;
         }
         if (isPipelineConsumed(programState, ownerSV)) {
-          reportIssue(mrt, "Refactor this code so that this consumed stream pipeline is not reused.", flow(ownerSV, context.getNode()));
+          if (!isIssueSuppressed(mrt)) {
+            reportIssue(mrt, "Refactor this code so that this consumed stream pipeline is not reused.", flow(ownerSV, context.getNode()));
+          }
           return null;
         } else {
           return Iterables.getOnlyElement(ownerSV.setConstraint(programState, StreamPipelineConstraint.CONSUMED));
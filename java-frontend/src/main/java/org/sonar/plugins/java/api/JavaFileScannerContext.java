@@ -115,7 +115,7 @@ public interface JavaFileScannerContext {
   /**
    * Computes the list of syntax nodes which are contributing to increase the complexity for the given methodTree.
    * @param tree the tree to compute the complexity.
-   * @return the list of syntax nodes incrementing the complexity.
+   * @return the unmodifiable list of syntax nodes incrementing the complexity, computed once per tree.
    */
   List<Tree> getComplexityNodes(Tree tree);
 
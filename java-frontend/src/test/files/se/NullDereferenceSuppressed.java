@@ -0,0 +1,7 @@
+class A {
+  void foo(Object o) {
+    if (o == null) {
+      o.toString(); // would raise an issue, if not suppressed
+    }
+  }
+}
@@ -25,6 +25,7 @@ import com.sonar.sslr.api.RecognitionException;
 import com.sonar.sslr.impl.LexerException;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -52,6 +53,7 @@ import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.Version;
+import org.sonar.java.filters.CodeVisitorIssueFilter;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.squidbridge.api.AnalysisException;
@@ -283,6 +285,73 @@ public class SonarComponentsTest {
 
   }
 
+  @Test
+  public void rule_keys_and_input_files_are_looked_up_once_per_issue() throws Exception {
+    JavaCheck expectedCheck = new CustomCheck();
+    CheckRegistrar expectedRegistrar = getRegistrar(expectedCheck);
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    DefaultFileSystem fileSystem = spy(context.fileSystem());
+    File file = new File("file.java");
+    fileSystem.add(new TestInputFileBuilder("", "file.java").initMetadata("a\nb\nc\n").build());
+    RuleKey ruleKey = RuleKey.of("repository", "rule");
+    when(this.checks.ruleKey(any(JavaCheck.class))).thenReturn(ruleKey);
+
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, fileSystem, null, null, checkFactory, new CheckRegistrar[] {
+      expectedRegistrar
+    });
+    sonarComponents.setSensorContext(context);
+
+    sonarComponents.addIssue(file, expectedCheck, 1, "message", null);
+    sonarComponents.addIssue(file, expectedCheck, 2, "message", null);
+    sonarComponents.addIssue(file, expectedCheck, 3, "message", null);
+
+    assertThat(context.allIssues()).hasSize(3);
+    assertThat(sonarComponents.getRuleKey(expectedCheck)).isSameAs(ruleKey);
+    verify(this.checks, times(1)).ruleKey(expectedCheck);
+    verify(fileSystem, times(3)).inputFile(any());
+    assertThat(sonarComponents.getRuleKey(new CustomTestCheck())).isSameAs(ruleKey);
+    verify(this.checks, times(2)).ruleKey(any(JavaCheck.class));
+  }
+
+  @Test
+  public void issues_are_suppressed_when_rule_is_not_active_or_issue_is_filtered() {
+    JavaCheck activeCheck = new CustomCheck();
+    RuleKey ruleKey = RuleKey.of("repository", "rule");
+    when(this.checks.ruleKey(any(JavaCheck.class))).thenAnswer(invocation -> invocation.getArgument(0) == activeCheck ? ruleKey : null);
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, null, null, null, checkFactory, new CheckRegistrar[] {
+      getRegistrar(activeCheck)
+    });
+
+    assertThat(sonarComponents.isIssueSuppressed(new CustomCheck(), 1)).isTrue();
+    assertThat(sonarComponents.isIssueSuppressed(activeCheck, 1)).isFalse();
+
+    CodeVisitorIssueFilter issueFilter = mock(CodeVisitorIssueFilter.class);
+    when(issueFilter.accept(ruleKey, 1)).thenReturn(true);
+    sonarComponents.setIssueFilter(issueFilter);
+    assertThat(sonarComponents.isIssueSuppressed(activeCheck, 1)).isFalse();
+    assertThat(sonarComponents.isIssueSuppressed(activeCheck, 2)).isTrue();
+  }
+
+  @Test
+  public void large_files() {
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    DefaultFileSystem fileSystem = context.fileSystem();
+    fileSystem.add(new TestInputFileBuilder("", "Big.java").setLines(60_000).build());
+    fileSystem.add(new TestInputFileBuilder("", "Small.java").setLines(10).build());
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, fileSystem, null, null, checkFactory);
+    sonarComponents.setSensorContext(context);
+
+    assertThat(sonarComponents.largeFileThreshold()).isEqualTo(SonarComponents.DEFAULT_LARGE_FILE_THRESHOLD);
+    assertThat(sonarComponents.isLargeFile(new File("Big.java"))).isTrue();
+    assertThat(sonarComponents.isLargeFile(new File("Small.java"))).isFalse();
+
+    context.settings().setProperty(SonarComponents.LARGE_FILE_THRESHOLD_KEY, "5");
+    assertThat(sonarComponents.isLargeFile(new File("Small.java"))).isTrue();
+
+    context.settings().setProperty(SonarComponents.LARGE_FILE_THRESHOLD_KEY, "0");
+    assertThat(sonarComponents.isLargeFile(new File("Big.java"))).isFalse();
+  }
+
   @Test
   public void fail_on_empty_location() {
     JavaCheck expectedCheck = new CustomCheck();
@@ -330,12 +399,29 @@ public class SonarComponentsTest {
     assertThat(sonarComponents.analysisCancelled()).isTrue();
   }
 
+  @Test
+  public void readFileContentFromInputFileRatherThanDisk() throws Exception {
+    // in SonarLint, the content of the input file is the one of the editor, which is not saved yet
+    File file = new File("src/test/files/api/JavaFileScannerContext.java");
+    DefaultInputFile inputFile = new TestInputFileBuilder("", file.getPath())
+      .setContents("class Unsaved {\n}\n")
+      .setCharset(StandardCharsets.UTF_8)
+      .build();
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    context.fileSystem().add(inputFile);
+    SonarComponents sonarComponents = new SonarComponents(null, context.fileSystem(), null, null, null, null);
+    sonarComponents.setSensorContext(context);
+
+    assertThat(sonarComponents.fileContent(file)).isEqualTo("class Unsaved {\n}\n");
+    assertThat(sonarComponents.fileLines(file)).containsExactly("class Unsaved {", "}");
+  }
+
   @Test
   public void readFileContentFromInputFile() throws Exception {
     // read a file containing kanji set with correct encoding and expecting proper length of read input.
     File file = new File("src/test/files/Kanji.java");
     DefaultInputFile inputFile = spy(new TestInputFileBuilder("", file.getPath())
-      .initMetadata(new String(java.nio.file.Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8))
+      .initMetadata(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8))
       .setCharset(StandardCharsets.UTF_8)
       .build());
 
@@ -354,7 +440,8 @@ public class SonarComponentsTest {
     assertThat(fileLines).hasSize(5);
     assertThat(fileLines.get(0)).hasSize(11);
 
-    verify(inputFile, times(1)).contents();
+    // the content is read once for the content and once for the lines
+    verify(inputFile, times(2)).contents();
     reset(inputFile);
   }
 
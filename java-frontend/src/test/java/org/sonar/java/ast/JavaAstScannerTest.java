@@ -45,6 +45,7 @@ import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.VisitorsBridge;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.TreeVisitor;
@@ -56,8 +57,12 @@ import org.sonar.sslr.grammar.LexerlessGrammarBuilder;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -186,6 +191,62 @@ public class JavaAstScannerTest {
     scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerNoParseError.txt")));
   }
 
+  @Test
+  public void should_not_fail_whole_analysis_upon_SOError_while_parsing() {
+    ActionParser<Tree> parser = mock(ActionParser.class);
+    when(parser.parse(any(File.class))).thenThrow(new StackOverflowError());
+    JavaAstScanner scanner = new JavaAstScanner(parser, null);
+    List<Boolean> filesParsed = new ArrayList<>();
+    scanner.setVisitorBridge(new VisitorsBridge((JavaFileScanner) context -> filesParsed.add(context.fileParsed())));
+    scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerNoParseError.txt"), new File("src/test/resources/AstScannerParseError.txt")));
+    assertThat(filesParsed).containsExactly(false, false);
+  }
+
+  @Test
+  public void files_should_be_parsed_ahead_and_analyzed_in_order() {
+    List<String> parsingThreads = new ArrayList<>();
+    ActionParser<Tree> parser = mock(ActionParser.class);
+    when(parser.parse(any(File.class))).thenAnswer(invocation -> {
+      parsingThreads.add(Thread.currentThread().getName());
+      File file = invocation.getArgument(0);
+      if (file.getName().startsWith("Error")) {
+        throw new RecognitionException(1, "parse error");
+      }
+      return JavaParser.createParser().parse("class " + file.getName().replace(".java", "") + " {}");
+    });
+    JavaAstScanner scanner = new JavaAstScanner(parser, null);
+    List<String> analyzed = new ArrayList<>();
+    scanner.setVisitorBridge(new VisitorsBridge((JavaFileScanner) context -> analyzed.add(context.getFile().getName() + ":" + context.fileParsed())));
+    scanner.scan(ImmutableList.of(new File("A.java"), new File("Error.java"), new File("B.java"), new File("C.java")));
+
+    assertThat(analyzed).containsExactly("A.java:true", "Error.java:false", "B.java:true", "C.java:true");
+    assertThat(parsingThreads).hasSize(4).doesNotContain(Thread.currentThread().getName());
+  }
+
+  @Test
+  public void file_contents_should_be_read_by_analysis_thread() {
+    List<String> files = ImmutableList.of("A.java", "B.java", "C.java", "D.java", "E.java");
+    List<File> filesToScan = new ArrayList<>();
+    for (String file : files) {
+      fs.add(new TestInputFileBuilder("", file).setContents("class " + file.replace(".java", "") + " {}").build());
+      filesToScan.add(new File(file));
+    }
+    SonarComponents sonarComponents = spy(new SonarComponents(null, fs, null, null, null, null));
+    sonarComponents.setSensorContext(context);
+    List<String> readingThreads = new ArrayList<>();
+    doAnswer(invocation -> {
+      readingThreads.add(Thread.currentThread().getName());
+      return invocation.callRealMethod();
+    }).when(sonarComponents).fileContent(any(File.class));
+    JavaAstScanner scanner = new JavaAstScanner(JavaParser.createParser(), sonarComponents);
+    List<String> analyzed = new ArrayList<>();
+    scanner.setVisitorBridge(new VisitorsBridge((JavaFileScanner) context -> analyzed.add(context.getFile().getName() + ":" + ((ClassTree) context.getTree().types().get(0)).simpleName().name())));
+    scanner.scan(filesToScan);
+
+    assertThat(analyzed).containsExactly("A.java:A", "B.java:B", "C.java:C", "D.java:D", "E.java:E");
+    assertThat(readingThreads).hasSize(5).containsOnly(Thread.currentThread().getName());
+  }
+
   @Test
   public void should_report_analysis_error_in_sonarLint_context_withSQ_6_0() throws Exception {
     JavaAstScanner scanner = defaultJavaAstScanner();
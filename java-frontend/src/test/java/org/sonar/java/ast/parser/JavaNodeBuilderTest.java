@@ -0,0 +1,48 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.parser;
+
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.typed.Input;
+import org.junit.Test;
+import org.sonar.java.model.InternalSyntaxToken;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JavaNodeBuilderTest {
+
+  @Test
+  public void lexemes_are_released_at_end_of_input() {
+    JavaNodeBuilder nodeBuilder = new JavaNodeBuilder();
+    Input input = new Input("foo(foo);".toCharArray());
+    String foo = token(nodeBuilder, input, 0, 3).text();
+    assertThat(token(nodeBuilder, input, 4, 7).text()).isSameAs(foo);
+
+    nodeBuilder.endOfInput();
+    assertThat(token(nodeBuilder, input, 4, 7).text()).isEqualTo("foo").isNotSameAs(foo);
+  }
+
+  private static InternalSyntaxToken token(JavaNodeBuilder nodeBuilder, Input input, int startIndex, int endIndex) {
+    return (InternalSyntaxToken) nodeBuilder.createTerminal(input, startIndex, endIndex, Collections.emptyList(), GenericTokenType.IDENTIFIER);
+  }
+
+}
@@ -19,11 +19,19 @@
  */
 package org.sonar.java.ast.parser;
 
+import com.sonar.sslr.api.typed.ActionParser;
 import org.junit.Test;
+import org.sonar.java.model.AbstractTypedTree;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -40,6 +48,47 @@ public class JavaParserTest {
     assertThat(cut.parent()).isNull();
   }
 
+  @Test
+  public void typed_trees_should_be_recorded_on_compilation_unit() {
+    JavaTree.CompilationUnitTreeImpl cut = (JavaTree.CompilationUnitTreeImpl) JavaParser.createParser().parse("class A { int foo() { return 1 + 2; } }");
+    List<AbstractTypedTree> typedTrees = cut.typedTrees();
+    assertThat(typedTrees).isNotNull();
+    assertThat(typedTrees.stream().map(Tree::kind)).containsOnly(Tree.Kind.PRIMITIVE_TYPE, Tree.Kind.IDENTIFIER, Tree.Kind.PLUS, Tree.Kind.INT_LITERAL);
+    assertThat(typedTrees).allMatch(tree -> tree.parent() != null);
+
+    SemanticModel.handleMissingTypes(cut);
+    assertThat(typedTrees).allMatch(AbstractTypedTree::isTypeSet);
+  }
+
+  @Test
+  public void children_should_be_computed_once() {
+    JavaTree cut = (JavaTree) JavaParser.createParser().parse("class A { }");
+    List<Tree> children = cut.getChildren();
+    assertThat(children).hasSize(2);
+    assertThat(cut.getChildren()).isSameAs(children);
+  }
+
+  @Test
+  public void tokens_with_same_text_should_share_value() {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser().parse("class A { A a; }");
+    ClassTree classTree = (ClassTree) cut.types().get(0);
+    VariableTree field = (VariableTree) classTree.members().get(0);
+    assertThat(((IdentifierTree) field.type()).identifierToken().text()).isSameAs(classTree.simpleName().identifierToken().text());
+    assertThat(classTree.openBraceToken().trivias()).isEmpty();
+  }
+
+  @Test
+  public void parser_should_be_reusable_across_files() {
+    ActionParser<Tree> parser = JavaParser.createParser();
+    JavaTree.CompilationUnitTreeImpl first = (JavaTree.CompilationUnitTreeImpl) parser.parse("class A { int a = 1 + 2 + 3; }");
+    JavaTree.CompilationUnitTreeImpl second = (JavaTree.CompilationUnitTreeImpl) parser.parse("class B { }");
+    assertThat(second.typedTrees()).extracting(Tree::kind).containsExactly(Tree.Kind.IDENTIFIER);
+    assertThat(second.kindIndex().nodesOfKind(Tree.Kind.CLASS)).hasSize(1);
+    assertThat(first.typedTrees()).hasSize(8);
+    ClassTree classTree = (ClassTree) second.types().get(0);
+    assertThat(classTree.parent()).isSameAs(second);
+  }
+
   @Test
   public void receiver_type_should_be_parsed() throws Exception {
     try {
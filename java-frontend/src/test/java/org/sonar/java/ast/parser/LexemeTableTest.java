@@ -0,0 +1,70 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.parser;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LexemeTableTest {
+
+  @Test
+  public void same_text_shares_same_lexeme() {
+    LexemeTable table = new LexemeTable();
+    char[] chars = "foo(bar, foo);".toCharArray();
+    String foo = table.lexeme(chars, 0, 3);
+    assertThat(foo).isEqualTo("foo");
+    assertThat(table.lexeme(chars, 9, 12)).isSameAs(foo);
+    assertThat(table.lexeme(chars, 4, 7)).isEqualTo("bar");
+    assertThat(table.lexeme(chars, 3, 3)).isEmpty();
+    assertThat(table.size()).isEqualTo(3);
+
+    table.clear();
+    assertThat(table.size()).isZero();
+    assertThat(table.lexeme(chars, 9, 12)).isEqualTo("foo").isNotSameAs(foo);
+  }
+
+  @Test
+  public void table_grows() {
+    LexemeTable table = new LexemeTable();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1_000; i++) {
+      sb.append("id").append(i).append(' ');
+    }
+    char[] chars = sb.toString().toCharArray();
+    int start = 0;
+    for (int i = 0; i < 1_000; i++) {
+      int end = sb.indexOf(" ", start);
+      assertThat(table.lexeme(chars, start, end)).isEqualTo("id" + i);
+      start = end + 1;
+    }
+    assertThat(table.size()).isEqualTo(1_000);
+    assertThat(table.lexeme("id42".toCharArray(), 0, 4)).isEqualTo("id42");
+    assertThat(table.size()).isEqualTo(1_000);
+
+    int capacity = table.capacity();
+    assertThat(capacity).isGreaterThan(2_000);
+    table.clear();
+    assertThat(table.size()).isZero();
+    assertThat(table.capacity()).isEqualTo(capacity);
+    assertThat(table.lexeme(chars, 0, 3)).isEqualTo("id0");
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import com.sonar.sslr.api.typed.ActionParser;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsCacheTest {
+
+  private static final ActionParser<Tree> PARSER = JavaParser.createParser();
+
+  private final CompilationUnitTree cut = (CompilationUnitTree) PARSER.parse("class A {\n"
+    + "  int foo(boolean a, boolean b) {\n"
+    + "    if (a && b) {\n"
+    + "      return 1;\n"
+    + "    }\n"
+    + "    return 0;\n"
+    + "  }\n"
+    + "  void bar() { while (true) { } }\n"
+    + "}");
+  private final ClassTree classTree = (ClassTree) cut.types().get(0);
+  private final MethodTree foo = (MethodTree) classTree.members().get(0);
+  private final MethodTree bar = (MethodTree) classTree.members().get(1);
+
+  @Test
+  public void complexity_nodes_are_computed_once_per_tree() {
+    MetricsCache metrics = new MetricsCache();
+
+    List<Tree> fooNodes = metrics.complexityNodes(foo);
+    assertThat(fooNodes).hasSize(new ComplexityVisitor().getNodes(foo).size()).hasSize(3);
+    assertThat(metrics.complexityNodes(bar)).hasSize(2);
+    assertThat(metrics.complexityNodes(classTree)).hasSize(5);
+    // computing the nodes of another tree does not alter the nodes already returned
+    assertThat(metrics.complexityNodes(foo)).isSameAs(fooNodes).hasSize(3);
+
+    metrics.clear();
+    assertThat(metrics.complexityNodes(foo)).isNotSameAs(fooNodes).isEqualTo(fooNodes);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void complexity_nodes_can_not_be_modified() {
+    new MetricsCache().complexityNodes(foo).clear();
+  }
+
+  @Test
+  public void cognitive_complexity_of_file_reuses_complexity_of_methods() {
+    MetricsCache metrics = new MetricsCache();
+
+    CognitiveComplexityVisitor.Result fooComplexity = metrics.cognitiveComplexity(foo);
+    assertThat(fooComplexity.complexity).isEqualTo(2);
+    assertThat(metrics.cognitiveComplexity(foo)).isSameAs(fooComplexity);
+    assertThat(metrics.cognitiveComplexity(cut)).isEqualTo(CognitiveComplexityVisitor.compilationUnitComplexity(cut)).isEqualTo(3);
+    assertThat(metrics.cognitiveComplexity(foo)).isSameAs(fooComplexity);
+  }
+
+  @Test
+  public void lines_of_code_are_computed_once_per_tree() {
+    MetricsCache metrics = new MetricsCache();
+
+    assertThat(metrics.linesOfCode(cut)).isEqualTo(9);
+    assertThat(metrics.linesOfCode(foo)).isEqualTo(6);
+    assertThat(metrics.linesOfCode(bar.block())).isEqualTo(1);
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassFileIndexTest {
+
+  private SquidClassLoader classLoader = new SquidClassLoader(Collections.singletonList(new File("src/test/files/bytecode/lib/hello.jar")));
+  private ClassFileIndex index = classLoader.classFileIndex();
+
+  @After
+  public void tearDown() {
+    classLoader.close();
+  }
+
+  @Test
+  public void jdk_classes() {
+    assertThat(index.exists("java.util.ArrayList")).isTrue();
+    assertThat(index.exists("java.util.Map$Entry")).isTrue();
+    assertThat(index.exists("java.util.Unknown")).isFalse();
+  }
+
+  @Test
+  public void library_classes() {
+    assertThat(index.exists("org.sonar.tests.Hello")).isTrue();
+    assertThat(index.exists("org.sonar.tests.hello")).isFalse();
+  }
+
+  @Test
+  public void class_files_are_looked_up_once() {
+    assertThat(index.exists("java.util.ArrayList")).isTrue();
+    assertThat(index.exists("java.util.ArrayList")).isTrue();
+    assertThat(index.exists("org.Unknown")).isFalse();
+    assertThat(index.exists("org.Unknown")).isFalse();
+    assertThat(index.size()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdkClassSnapshotTest {
+
+  @Test
+  public void jdk_classes_are_read_once() {
+    JdkClassSnapshot snapshot = new JdkClassSnapshot(new ClassLoader(null) {
+    });
+    byte[] bytes = snapshot.classBytes("java/lang/Object.class");
+    assertThat(bytes).isNotEmpty();
+    assertThat(snapshot.classBytes("java/lang/Object.class")).isSameAs(bytes);
+    assertThat(snapshot.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void classes_outside_of_jdk_are_not_provided() {
+    JdkClassSnapshot snapshot = new JdkClassSnapshot();
+    assertThat(snapshot.classBytes("javax/servlet/Servlet.class")).isNull();
+    assertThat(snapshot.classBytes("java/lang/String.class")).isNotEmpty();
+    assertThat(snapshot.size()).isEqualTo(2);
+    snapshot.clear();
+    assertThat(snapshot.size()).isZero();
+  }
+
+  @Test
+  public void only_java_and_javax_class_files_are_covered() {
+    assertThat(JdkClassSnapshot.covers("java/lang/Object.class")).isTrue();
+    assertThat(JdkClassSnapshot.covers("javax/annotation/Nullable.class")).isTrue();
+    assertThat(JdkClassSnapshot.covers("org/sonar/java/bytecode/loader/JdkClassSnapshot.class")).isFalse();
+    assertThat(JdkClassSnapshot.covers("javafoo/Bar.class")).isFalse();
+    assertThat(JdkClassSnapshot.covers("java/lang/resource.properties")).isFalse();
+  }
+
+}
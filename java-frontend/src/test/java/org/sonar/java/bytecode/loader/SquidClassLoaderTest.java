@@ -113,6 +113,29 @@ public class SquidClassLoaderTest {
     classLoader.loadClass("tags.Unknown");
   }
 
+  @Test
+  public void getResourceAsStream() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    classLoader = new SquidClassLoader(Arrays.asList(jar));
+
+    assertThat(classLoader.getResourceAsStream("java/lang/Integer.class")).isNotNull();
+    assertThat(classLoader.getResourceAsStream("org/sonar/tests/Hello.class")).isNotNull();
+    assertThat(classLoader.getResourceAsStream("org/sonar/tests/Unknown.class")).isNull();
+    assertThat(classLoader.getResourceAsStream(SquidClassLoader.class.getName().replace('.', '/') + ".class")).isNull();
+  }
+
+  @Test
+  public void getResource_of_class_files() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    classLoader = new SquidClassLoader(Arrays.asList(jar));
+
+    assertThat(classLoader.getResource("org/sonar/tests/Unknown.class")).isNull();
+    assertThat(classLoader.getResourceAsStream("org/sonar/tests/Unknown.class")).isNull();
+    assertThat(classLoader.findResource("notfound")).isNull();
+    assertThat(classLoader.getResource("org/sonar/tests/Hello.class")).isNotNull();
+    assertThat(classLoader.getResource("java/lang/Object.class")).isNotNull();
+  }
+
   @Test
   public void testFindResource() throws Exception {
     File dir = new File("src/test/files/bytecode/bin/");
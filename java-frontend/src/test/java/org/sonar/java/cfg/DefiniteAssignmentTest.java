@@ -0,0 +1,100 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import org.junit.Test;
+import org.sonar.plugins.java.api.semantic.Symbol;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonar.java.cfg.ReachingDefinitionsTest.blockInvoking;
+import static org.sonar.java.cfg.ReachingDefinitionsTest.buildCFG;
+
+public class DefiniteAssignmentTest {
+
+  @Test
+  public void variables_assigned_on_all_paths() {
+    CFG cfg = buildCFG("void foo(int p, boolean c) {\n"
+      + "  int a;\n"
+      + "  int b;\n"
+      + "  if (c) {\n"
+      + "    a = 1;\n"
+      + "    b = 1;\n"
+      + "  } else {\n"
+      + "    a = 2;\n"
+      + "  }\n"
+      + "  bar(a);\n"
+      + "  b = 2;\n"
+      + "}");
+    DefiniteAssignment definiteAssignment = DefiniteAssignment.analyze(cfg);
+    CFG.Block block = blockInvoking(cfg, "bar");
+
+    assertThat(names(definiteAssignment.getIn(cfg.entry()))).containsOnly("p", "c");
+    assertThat(names(definiteAssignment.getIn(block))).containsOnly("p", "c", "a");
+    assertThat(names(definiteAssignment.getOut(block))).containsOnly("p", "c", "a", "b");
+  }
+
+  @Test
+  public void variables_of_for_each_and_catch_are_assigned() {
+    CFG cfg = buildCFG("void foo(java.util.List<String> list) {\n"
+      + "  for (String s : list) {\n"
+      + "    bar(s);\n"
+      + "  }\n"
+      + "  try {\n"
+      + "    list.clear();\n"
+      + "  } catch (RuntimeException e) {\n"
+      + "    qix(e);\n"
+      + "  }\n"
+      + "}");
+    DefiniteAssignment definiteAssignment = DefiniteAssignment.analyze(cfg);
+
+    assertThat(names(definiteAssignment.getIn(blockInvoking(cfg, "bar")))).containsOnly("list", "s");
+    // the CFG assigns the variable of the for-each loop in the block testing the end of the loop
+    assertThat(names(definiteAssignment.getIn(blockInvoking(cfg, "qix")))).containsOnly("list", "s");
+    // the catch parameter is assigned at the beginning of the catch block
+    assertThat(names(definiteAssignment.getOut(blockInvoking(cfg, "qix")))).containsOnly("list", "s", "e");
+  }
+
+  @Test
+  public void variables_assigned_in_try_are_not_assigned_in_catch() {
+    CFG cfg = buildCFG("void foo(boolean c) {\n"
+      + "  int a;\n"
+      + "  try {\n"
+      + "    a = 1;\n"
+      + "    bar();\n"
+      + "  } catch (RuntimeException e) {\n"
+      + "    qix(c);\n"
+      + "    a = 2;\n"
+      + "  }\n"
+      + "  end();\n"
+      + "}");
+    DefiniteAssignment definiteAssignment = DefiniteAssignment.analyze(cfg);
+
+    // the exception can be thrown before the assignment of the block which throws it
+    assertThat(names(definiteAssignment.getIn(blockInvoking(cfg, "qix")))).containsOnly("c");
+    assertThat(names(definiteAssignment.getIn(blockInvoking(cfg, "end")))).containsOnly("c", "a");
+  }
+
+  private static Iterable<String> names(Set<Symbol> symbols) {
+    return () -> symbols.stream().map(Symbol::name).iterator();
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import com.sonar.sslr.api.typed.ActionParser;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MethodAnalysisCacheTest {
+
+  private static final ActionParser<Tree> PARSER = JavaParser.createParser();
+
+  private static List<Tree> methods() {
+    CompilationUnitTree cut = (CompilationUnitTree) PARSER.parse("class A { int field; "
+      + "void foo(int a) { int i = a; field = i; } "
+      + "void bar() { foo(field); } }");
+    SemanticModel.createFor(cut, new SquidClassLoader(Collections.emptyList()));
+    return ((ClassTree) cut.types().get(0)).members();
+  }
+
+  @Test
+  public void results_are_computed_once_per_method() {
+    List<Tree> members = methods();
+    MethodTree foo = (MethodTree) members.get(1);
+    MethodTree bar = (MethodTree) members.get(2);
+    MethodAnalysisCache cache = new MethodAnalysisCache();
+
+    CFG cfg = cache.cfg(foo);
+    assertThat(cache.cfg(foo)).isSameAs(cfg);
+    assertThat(cache.cfg(bar)).isNotSameAs(cfg);
+    assertThat(cache.hits()).isEqualTo(1);
+    assertThat(cache.misses()).isEqualTo(2);
+
+    LiveVariables liveVariables = cache.liveVariables(foo);
+    assertThat(cache.liveVariables(foo)).isSameAs(liveVariables);
+    assertThat(liveVariables.getIn(cfg.entry())).extracting("name").containsExactly("a");
+    LiveVariables liveVariablesWithFields = cache.liveVariablesWithFields(bar);
+    assertThat(liveVariablesWithFields.getIn(cache.cfg(bar).entry())).extracting("name").containsExactly("field");
+    // liveness computations reuse the cached CFGs
+    assertThat(cache.hits()).isEqualTo(5);
+    assertThat(cache.misses()).isEqualTo(4);
+  }
+
+  @Test
+  public void dataflow_analyses_are_cached() {
+    MethodTree foo = (MethodTree) methods().get(1);
+    MethodAnalysisCache cache = new MethodAnalysisCache();
+
+    assertThat(cache.reachingDefinitions(foo)).isSameAs(cache.reachingDefinitions(foo));
+    assertThat(cache.definiteAssignment(foo)).isSameAs(cache.definiteAssignment(foo));
+  }
+
+  @Test
+  public void clear_releases_results_but_keeps_counts() {
+    MethodTree foo = (MethodTree) methods().get(1);
+    MethodAnalysisCache cache = new MethodAnalysisCache();
+    CFG cfg = cache.cfg(foo);
+    cache.clear();
+
+    assertThat(cache.cfg(foo)).isNotSameAs(cfg);
+    assertThat(cache.hits()).isZero();
+    assertThat(cache.misses()).isEqualTo(2);
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.cfg;
+
+import com.sonar.sslr.api.typed.ActionParser;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReachingDefinitionsTest {
+
+  private static final ActionParser<Tree> PARSER = JavaParser.createParser();
+
+  static CFG buildCFG(String methodCode) {
+    CompilationUnitTree cut = (CompilationUnitTree) PARSER.parse("class A {\n" + methodCode + "\n}");
+    SemanticModel.createFor(cut, new SquidClassLoader(Collections.emptyList()));
+    ClassTree classTree = (ClassTree) cut.types().get(0);
+    return CFG.build((MethodTree) classTree.members().get(classTree.members().size() - 1));
+  }
+
+  /**
+   * Block containing the invocation of the method with the given name.
+   */
+  static CFG.Block blockInvoking(CFG cfg, String methodName) {
+    return cfg.blocks().stream()
+      .filter(block -> block.elements().stream()
+        .anyMatch(element -> element.is(Tree.Kind.METHOD_INVOCATION)
+          && ((MethodInvocationTree) element).methodSelect().is(Tree.Kind.IDENTIFIER)
+          && methodName.equals(((IdentifierTree) ((MethodInvocationTree) element).methodSelect()).name())))
+      .findFirst()
+      .orElseThrow(IllegalStateException::new);
+  }
+
+  private static List<Integer> lines(Iterable<Tree> definitions) {
+    List<Integer> lines = new ArrayList<>();
+    definitions.forEach(definition -> lines.add(((JavaTree) definition).getLine()));
+    return lines.stream().sorted().collect(Collectors.toList());
+  }
+
+  @Test
+  public void definitions_reaching_blocks() {
+    CFG cfg = buildCFG("void foo(int p, boolean c) {\n"
+      + "  int a = 1;\n"
+      + "  if (c) {\n"
+      + "    a = 2;\n"
+      + "  } else {\n"
+      + "    p++;\n"
+      + "  }\n"
+      + "  bar(a, p);\n"
+      + "  a = 3;\n"
+      + "}");
+    ReachingDefinitions reachingDefinitions = ReachingDefinitions.analyze(cfg);
+    CFG.Block block = blockInvoking(cfg, "bar");
+
+    // parameters are defined on line 2
+    assertThat(lines(reachingDefinitions.getIn(block))).containsExactly(2, 2, 3, 5, 7);
+    assertThat(lines(reachingDefinitions.getOut(block))).containsExactly(2, 2, 7, 10);
+    assertThat(lines(reachingDefinitions.getIn(cfg.entry()))).containsExactly(2, 2);
+  }
+
+  @Test
+  public void definitions_of_loops() {
+    CFG cfg = buildCFG("void foo(int i) {\n"
+      + "  while (i < 10) {\n"
+      + "    bar(i);\n"
+      + "    i += 1;\n"
+      + "  }\n"
+      + "}");
+    ReachingDefinitions reachingDefinitions = ReachingDefinitions.analyze(cfg);
+
+    // entry block is the condition of the loop, reached both by the parameter and by the assignment
+    assertThat(lines(reachingDefinitions.getIn(cfg.entry()))).containsExactly(2, 5);
+    assertThat(lines(reachingDefinitions.getIn(blockInvoking(cfg, "bar")))).containsExactly(2, 5);
+    assertThat(lines(reachingDefinitions.getOut(blockInvoking(cfg, "bar")))).containsExactly(5);
+  }
+
+  @Test
+  public void definitions_reaching_catch_blocks() {
+    CFG cfg = buildCFG("void foo(int p) {\n"
+      + "  int a = 0;\n"
+      + "  try {\n"
+      + "    a = 1;\n"
+      + "    bar();\n"
+      + "  } catch (RuntimeException e) {\n"
+      + "    qix(a, p);\n"
+      + "  }\n"
+      + "}");
+    ReachingDefinitions reachingDefinitions = ReachingDefinitions.analyze(cfg);
+
+    // the exception can be thrown before or after the assignment of the block which throws it
+    assertThat(lines(reachingDefinitions.getIn(blockInvoking(cfg, "qix")))).containsExactly(2, 3, 5);
+  }
+
+  @Test
+  public void fields_are_not_definitions() {
+    CFG cfg = buildCFG("int f; void foo() {\n"
+      + "  f = 1;\n"
+      + "  this.f = 2;\n"
+      + "  bar(f);\n"
+      + "}");
+    assertThat(ReachingDefinitions.analyze(cfg).getIn(blockInvoking(cfg, "bar"))).isEmpty();
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.utils.log.LogTester;
+import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.api.utils.log.Loggers;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassesNotFoundReportTest {
+
+  @Rule
+  public LogTester logTester = new LogTester();
+
+  @Test
+  public void empty_report_does_not_log() {
+    ClassesNotFoundReport report = new ClassesNotFoundReport();
+    report.add(Collections.emptyList(), new File("A.java"));
+    assertThat(report.isEmpty()).isTrue();
+    report.log(Loggers.get(ClassesNotFoundReportTest.class));
+    assertThat(logTester.logs()).isEmpty();
+  }
+
+  @Test
+  public void count_referencing_files() {
+    ClassesNotFoundReport report = new ClassesNotFoundReport();
+    report.add(ImmutableList.of("org.A", "org.B"), new File("A.java"));
+    report.add(ImmutableList.of("org.A"), new File("B.java"));
+    assertThat(report.isEmpty()).isFalse();
+    assertThat(report.referencingFilesCount("org.A")).isEqualTo(2);
+    assertThat(report.referencingFilesCount("org.B")).isEqualTo(1);
+    assertThat(report.referencingFilesCount("org.C")).isEqualTo(0);
+  }
+
+  @Test
+  public void first_referencing_files_are_listed() {
+    logTester.setLevel(LoggerLevel.DEBUG);
+    ClassesNotFoundReport report = new ClassesNotFoundReport();
+    IntStream.range(0, 7).forEach(i -> report.add(ImmutableList.of("org.A"), new File("F" + i + ".java")));
+    report.log(Loggers.get(ClassesNotFoundReportTest.class));
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsOnly("Classes not found during the analysis : [org.A]");
+    report.add(ImmutableList.of("org.B"), new File("G.java"));
+    report.log(Loggers.get(ClassesNotFoundReportTest.class));
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsOnly("Classes not found during the analysis : [org.A]", "Classes not found during the analysis : [org.A, org.B]");
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).containsOnly(
+      "1 classes not found during the analysis:\n  org.A referenced by 7 files: F0.java, F1.java, F2.java, F3.java, F4.java, ...",
+      "2 classes not found during the analysis:\n  org.A referenced by 7 files: F0.java, F1.java, F2.java, F3.java, F4.java, ...\n  org.B referenced by 1 file: G.java");
+  }
+}
@@ -42,6 +42,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class DefaultJavaFileScannerContextTest {
 
@@ -72,6 +73,37 @@ public class DefaultJavaFileScannerContextTest {
     assertMessagePosition(reportedMessage, 1, 0, 4, 1);
   }
 
+  @Test
+  public void nodes_of_kind() {
+    ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
+    assertThat(context.nodesOfKind(Tree.Kind.CLASS)).containsExactly(tree);
+    assertThat(context.nodesOfKind(Tree.Kind.COMPILATION_UNIT, Tree.Kind.CLASS)).containsExactly(compilationUnitTree, tree);
+    assertThat(context.nodesOfKind(Tree.Kind.LAMBDA_EXPRESSION)).isEmpty();
+  }
+
+  @Test
+  public void method_analysis_cache_is_per_context() {
+    assertThat(context.methodAnalysisCache()).isSameAs(context.methodAnalysisCache());
+    assertThat(context.methodAnalysisCache().misses()).isZero();
+  }
+
+  @Test
+  public void metrics_are_computed_once_per_context() {
+    ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
+    assertThat(context.metrics()).isSameAs(context.metrics());
+    assertThat(context.getComplexityNodes(tree)).isSameAs(context.metrics().complexityNodes(tree));
+  }
+
+  @Test
+  public void issue_suppression_is_asked_for_the_first_line_of_the_tree() {
+    ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
+    when(sonarComponents.isIssueSuppressed(CHECK, 2)).thenReturn(true);
+
+    assertThat(context.isIssueSuppressed(CHECK, tree)).isFalse();
+    assertThat(context.isIssueSuppressed(CHECK, tree.members().get(0))).isTrue();
+    assertThat(new DefaultJavaFileScannerContext(compilationUnitTree, JAVA_FILE, null, null, null, true).isIssueSuppressed(CHECK, tree)).isFalse();
+  }
+
   @Test
   public void report_issue_on_tree_with_no_secondary() {
     ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
@@ -22,12 +22,18 @@ package org.sonar.java.model;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.tree.NewArrayTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -124,4 +130,105 @@ public class LiteralUtilsTest {
     assertThat(LiteralUtils.trimQuotes("\"test\"")).isEqualTo("test");
   }
 
+  @Test
+  public void string_value_unescapes_literals() {
+    assertThat(LiteralUtils.stringValue(literal("\"abc\""))).isEqualTo("abc");
+    assertThat(LiteralUtils.stringValue(literal("\"a\\tb\\n\\\"c\\\"\\\\\""))).isEqualTo("a\tb\n\"c\"\\");
+    assertThat(LiteralUtils.stringValue(literal("\"\\b\\f\\r\\'\""))).isEqualTo("\b\f\r'");
+    assertThat(LiteralUtils.stringValue(literal("\"\\u0041\\uu0042\""))).isEqualTo("AB");
+    assertThat(LiteralUtils.stringValue(literal("\"\\0\\101\\477\""))).isEqualTo("\0A'7");
+    assertThat(LiteralUtils.stringValue(literal("'\\n'"))).isEqualTo("\n");
+  }
+
+  @Test
+  public void constant_value_of_literals_and_operators() {
+    assertThat(constantValue("\"a\" + 1 + 'c' + true + 1.5f")).isEqualTo("a1ctrue1.5");
+    assertThat(constantValue("1 + 2 + \"a\"")).isEqualTo("3a");
+    assertThat(constantValue("'a'")).isEqualTo('a');
+    assertThat(constantValue("'a' + 1")).isEqualTo(98);
+    assertThat(constantValue("(2 * 3) - 1_0")).isEqualTo(-4);
+    assertThat(constantValue("2147483647 + 1")).isEqualTo(Integer.MIN_VALUE);
+    assertThat(constantValue("2147483647 + 1L")).isEqualTo(2147483648L);
+    assertThat(constantValue("0xFFFFFFFF")).isEqualTo(-1);
+    assertThat(constantValue("0b101 + 017")).isEqualTo(20);
+    assertThat(constantValue("0x8000_0000_0000_0000L")).isEqualTo(Long.MIN_VALUE);
+    assertThat(constantValue("-(+5L)")).isEqualTo(-5L);
+    assertThat(constantValue("~0")).isEqualTo(-1);
+    assertThat(constantValue("~'a'")).isEqualTo(~'a');
+    assertThat(constantValue("!false")).isEqualTo(true);
+    assertThat(constantValue("-1.5")).isEqualTo(-1.5);
+    assertThat(constantValue("-1.5f")).isEqualTo(-1.5f);
+    assertThat(constantValue("1e3d")).isEqualTo(1000.0);
+
+    assertThat(constantValue("2147483648")).isNull();
+    assertThat(constantValue("1.5 + 1")).isNull();
+    assertThat(constantValue("~1.5")).isNull();
+    assertThat(constantValue("-true")).isNull();
+    assertThat(constantValue("!1")).isNull();
+    assertThat(constantValue("1 / 1")).isNull();
+    assertThat(constantValue("null")).isNull();
+    assertThat(constantValue("foo() + \"a\"")).isNull();
+    assertThat(constantValue("\"a\" + foo()")).isNull();
+  }
+
+  @Test
+  public void constant_value_of_constant_variables() {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser().parse("class A {\n"
+      + "  static final String PREFIX = \"a\";\n"
+      + "  static final String NAME = A.PREFIX + SUFFIX;\n"
+      + "  static final String SUFFIX = \"b\";\n"
+      + "  static final String TWICE = PREFIX + (PREFIX + SUFFIX) + PREFIX;\n"
+      + "  static final Object OBJECT = \"o\";\n"
+      + "  static String notFinal = \"c\";\n"
+      + "  static final int CYCLE = CYCLE + 1;\n"
+      + "  static final int NO_INITIALIZER;\n"
+      + "  Object[] values = {NAME, TWICE, OBJECT, notFinal, CYCLE, NO_INITIALIZER, String.CASE_INSENSITIVE_ORDER};\n"
+      + "}");
+    SemanticModel.createFor(cut, new SquidClassLoader(Collections.emptyList()));
+    List<Tree> members = ((ClassTree) cut.types().get(0)).members();
+    ExpressionTree initializer = ((VariableTree) members.get(members.size() - 1)).initializer();
+    List<ExpressionTree> values = ((NewArrayTree) initializer).initializers();
+
+    assertThat(LiteralUtils.constantValue(values.get(0))).isEqualTo("ab");
+    assertThat(LiteralUtils.constantValue(values.get(1))).isEqualTo("aaba");
+    for (ExpressionTree value : values.subList(2, values.size())) {
+      assertThat(LiteralUtils.constantValue(value)).isNull();
+    }
+  }
+
+  @Test
+  public void constant_value_of_variables_is_converted_to_their_type() {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser().parse("class A {\n"
+      + "  static final int A = 'A';\n"
+      + "  static final long L = 2147483647;\n"
+      + "  static final char C = 66;\n"
+      + "  static final byte B = 10;\n"
+      + "  static final double D = 1;\n"
+      + "  Object[] values = {\"x\" + A, L + 1, \"x\" + C, B * 2, D};\n"
+      + "}");
+    SemanticModel.createFor(cut, new SquidClassLoader(Collections.emptyList()));
+    List<Tree> members = ((ClassTree) cut.types().get(0)).members();
+    ExpressionTree initializer = ((VariableTree) members.get(members.size() - 1)).initializer();
+    List<ExpressionTree> values = ((NewArrayTree) initializer).initializers();
+
+    assertThat(LiteralUtils.constantValue(values.get(0))).isEqualTo("x65");
+    assertThat(LiteralUtils.constantValue(values.get(1))).isEqualTo(2147483648L);
+    assertThat(LiteralUtils.constantValue(values.get(2))).isEqualTo("xB");
+    assertThat(LiteralUtils.constantValue(values.get(3))).isEqualTo(20);
+    assertThat(LiteralUtils.constantValue(values.get(4))).isEqualTo(1.0);
+  }
+
+  private static LiteralTree literal(String literal) {
+    return (LiteralTree) expression(literal);
+  }
+
+  private static Object constantValue(String expression) {
+    return LiteralUtils.constantValue(expression(expression));
+  }
+
+  private static ExpressionTree expression(String expression) {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser().parse("class A { Object o = " + expression + "; }");
+    return ((VariableTree) ((ClassTree) cut.types().get(0)).members().get(0)).initializer();
+  }
+
 }
@@ -0,0 +1,64 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ScannerContextUtilsTest {
+
+  private static final File JAVA_FILE = new File("src/test/files/api/JavaFileScannerContext.java");
+  private static final JavaCheck CHECK = new JavaCheck() {
+  };
+
+  private final CompilationUnitTree compilationUnitTree = (CompilationUnitTree) JavaParser.createParser().parse(JAVA_FILE);
+
+  @Test
+  public void data_is_shared_by_default_context() {
+    DefaultJavaFileScannerContext context = new DefaultJavaFileScannerContext(compilationUnitTree, JAVA_FILE, null, null, null, true);
+    assertThat(ScannerContextUtils.metrics(context)).isSameAs(context.metrics());
+    assertThat(ScannerContextUtils.methodAnalysisCache(context)).isSameAs(context.methodAnalysisCache());
+    assertThat(ScannerContextUtils.nodesOfKind(context, Tree.Kind.CLASS)).containsExactlyElementsOf(context.nodesOfKind(Tree.Kind.CLASS));
+    assertThat(ScannerContextUtils.isIssueSuppressed(context, CHECK, compilationUnitTree)).isFalse();
+  }
+
+  @Test
+  public void data_is_computed_for_other_contexts() {
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(compilationUnitTree);
+    ClassTree classTree = (ClassTree) compilationUnitTree.types().get(0);
+
+    assertThat(ScannerContextUtils.nodesOfKind(context, Tree.Kind.CLASS)).containsExactly(classTree);
+    assertThat(ScannerContextUtils.metrics(context).linesOfCode(classTree)).isPositive();
+    assertThat(ScannerContextUtils.methodAnalysisCache(context)).isNotNull();
+    assertThat(ScannerContextUtils.isIssueSuppressed(context, CHECK, classTree)).isFalse();
+  }
+}
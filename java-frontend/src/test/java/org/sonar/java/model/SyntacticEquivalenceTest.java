@@ -28,6 +28,7 @@ import org.sonar.java.ast.parser.JavaParser;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.List;
@@ -77,6 +78,36 @@ public class SyntacticEquivalenceTest {
     assertThat(SyntacticEquivalence.areEquivalent(notImplementedTree, new JavaTree.NotImplementedTreeImpl())).isFalse();
   }
 
+  @Test
+  public void structural_hash() {
+    CompilationUnitTree compilationUnitTree = compilationUnitTree("class A {\n"
+      + "  void method1() { foo(a, b); return; }\n"
+      + "  void method2() {\n"
+      + "    // comment\n"
+      + "    foo( a,b ) ; return;\n"
+      + "  }\n"
+      + "  void method3() { foo(b, a); return; }\n"
+      + "}");
+    List<Tree> members = ((ClassTree) compilationUnitTree.types().get(0)).members();
+    List<StatementTree> body1 = ((MethodTree) members.get(0)).block().body();
+    List<StatementTree> body2 = ((MethodTree) members.get(1)).block().body();
+    List<StatementTree> body3 = ((MethodTree) members.get(2)).block().body();
+
+    assertThat(SyntacticEquivalence.hash(body1)).isEqualTo(SyntacticEquivalence.hash(body2));
+    assertThat(SyntacticEquivalence.hash(body1)).isNotEqualTo(SyntacticEquivalence.hash(body3));
+    assertThat(SyntacticEquivalence.hash(body1.get(0))).isNotEqualTo(SyntacticEquivalence.hash(body1.get(1)));
+    assertThat(SyntacticEquivalence.hash((Tree) null)).isZero();
+
+    JavaTree statement = (JavaTree) body1.get(0);
+    assertThat(statement.structuralHash()).isEqualTo(SyntacticEquivalence.hash(statement)).isNotZero();
+  }
+
+  @Test
+  public void structural_hash_of_not_implemented_tree() {
+    JavaTree.NotImplementedTreeImpl notImplementedTree = new JavaTree.NotImplementedTreeImpl();
+    assertThat(SyntacticEquivalence.hash(notImplementedTree)).isEqualTo(SyntacticEquivalence.hash(notImplementedTree));
+  }
+
   private void assertAreEquivalent(String statement1, String statement2) {
     assertAreEquivalent(Lists.newArrayList(statement1), Lists.newArrayList(statement2));
   }
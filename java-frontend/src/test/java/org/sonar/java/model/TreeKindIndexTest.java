@@ -0,0 +1,160 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TreeKindIndexTest {
+
+  private static final String SOURCE = "class A { int f(int p) { return p + 1 + f(2); } Object o = \"s\"; }";
+
+  @Test
+  public void index_is_recorded_by_parser_in_document_order() {
+    JavaTree.CompilationUnitTreeImpl cut = parse(SOURCE);
+    TreeKindIndex index = cut.kindIndex();
+    assertThat(index).isNotNull();
+    assertThat(TreeKindIndex.of(cut)).isSameAs(index);
+
+    List<Tree> literals = new ArrayList<>();
+    cut.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitLiteral(LiteralTree tree) {
+        literals.add(tree);
+      }
+    });
+    assertThat(index.nodesOfKind(Tree.Kind.IDENTIFIER)).extracting(tree -> ((IdentifierTree) tree).name())
+      .containsExactly("A", "f", "p", "p", "f", "Object", "o");
+    assertThat(index.nodesOfKind(Tree.Kind.INT_LITERAL, Tree.Kind.STRING_LITERAL, Tree.Kind.INT_LITERAL)).containsExactlyElementsOf(literals);
+    assertThat(index.nodesOfKind(Tree.Kind.METHOD_INVOCATION, Tree.Kind.PLUS)).extracting(Tree::kind)
+      .containsExactly(Tree.Kind.PLUS, Tree.Kind.PLUS, Tree.Kind.METHOD_INVOCATION);
+    assertThat(index.nodesOfKind(Tree.Kind.LAMBDA_EXPRESSION, Tree.Kind.WHILE_STATEMENT)).isEmpty();
+    assertThat(index.nodesOfKind()).isEmpty();
+
+    assertThat(index.containsAny(EnumSet.of(Tree.Kind.PLUS, Tree.Kind.MINUS))).isTrue();
+    assertThat(index.containsAny(EnumSet.of(Tree.Kind.MINUS))).isFalse();
+  }
+
+  @Test
+  public void index_of_tree_not_created_by_parser() {
+    JavaTree.CompilationUnitTreeImpl cut = parse(SOURCE);
+    TreeKindIndex recorded = cut.kindIndex();
+    cut.setKindIndex(null);
+    TreeKindIndex index = TreeKindIndex.of(cut);
+    assertThat(index).isNotSameAs(recorded);
+    for (Tree.Kind kind : Tree.Kind.values()) {
+      assertThat(index.nodesOfKind(kind)).as(kind.name()).containsExactlyElementsOf(recorded.nodesOfKind(kind));
+    }
+  }
+
+  @Test
+  public void subscription_visitors_skip_files_without_subscribed_kinds() {
+    CountingVisitor plusVisitor = new CountingVisitor(Tree.Kind.PLUS);
+    CountingVisitor minusVisitor = new CountingVisitor(Tree.Kind.MINUS);
+    JavaTree.CompilationUnitTreeImpl cut = parse(SOURCE);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(cut);
+
+    plusVisitor.scanFile(context);
+    minusVisitor.scanFile(context);
+    assertThat(plusVisitor.visited).isEqualTo(2);
+    assertThat(plusVisitor.scanned).isTrue();
+    assertThat(minusVisitor.visited).isZero();
+    assertThat(minusVisitor.scanned).isFalse();
+
+    cut.setKindIndex(null);
+    minusVisitor.scanFile(context);
+    assertThat(minusVisitor.scanned).isTrue();
+  }
+
+  @Test
+  public void subscription_visitors_can_visit_indexed_nodes_without_traversing_the_file() {
+    CountingVisitor visitor = new CountingVisitor(Tree.Kind.PLUS, Tree.Kind.METHOD_INVOCATION);
+    visitor.indexedOnly = true;
+    JavaTree.CompilationUnitTreeImpl cut = parse(SOURCE);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(cut);
+
+    visitor.scanFile(context);
+    assertThat(visitor.scanned).isFalse();
+    assertThat(visitor.visitedKinds).containsExactly(Tree.Kind.PLUS, Tree.Kind.PLUS, Tree.Kind.METHOD_INVOCATION);
+
+    visitor.visitedKinds.clear();
+    cut.setKindIndex(null);
+    visitor.scanFile(context);
+    assertThat(visitor.scanned).isTrue();
+    assertThat(visitor.visitedKinds).containsExactly(Tree.Kind.PLUS, Tree.Kind.PLUS, Tree.Kind.METHOD_INVOCATION);
+  }
+
+  private static JavaTree.CompilationUnitTreeImpl parse(String source) {
+    return (JavaTree.CompilationUnitTreeImpl) JavaParser.createParser().parse(source);
+  }
+
+  private static class CountingVisitor extends SubscriptionVisitor {
+    private final List<Tree.Kind> kinds;
+    private final List<Tree.Kind> visitedKinds = new ArrayList<>();
+    private int visited = 0;
+    private boolean scanned = false;
+    private boolean indexedOnly = false;
+
+    CountingVisitor(Tree.Kind... kinds) {
+      this.kinds = ImmutableList.copyOf(kinds);
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return kinds;
+    }
+
+    @Override
+    protected boolean visitsIndexedNodesOnly() {
+      return indexedOnly;
+    }
+
+    @Override
+    protected void scanTree(Tree tree) {
+      scanned = true;
+      super.scanTree(tree);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      visited++;
+      visitedKinds.add(tree.kind());
+    }
+  }
+
+}
@@ -26,8 +26,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.parser.JavaParser;
 import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.se.SymbolicExecutionMode;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -38,13 +40,18 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class VisitorsBridgeTest {
 
@@ -100,6 +107,67 @@ public class VisitorsBridgeTest {
     );
   }
 
+  @Test
+  public void log_files_referencing_classes_not_found_in_debug() throws Exception {
+    logTester.setLevel(LoggerLevel.DEBUG);
+    VisitorsBridge visitorsBridge =
+      new VisitorsBridge(Collections.singletonList((JavaFileScanner) context -> {
+        Set<String> classesNotFound = ((SemanticModel) context.getSemanticModel()).classesNotFound();
+        classesNotFound.add("org.unknown.A");
+        if ("Foo.java".equals(context.getFile().getName())) {
+          classesNotFound.add("org.unknown.B");
+        }
+      }), Lists.newArrayList(), null);
+    checkFile("Foo.java", "class Foo {}", visitorsBridge);
+    checkFile("Bar.java", "class Bar {}", visitorsBridge);
+    visitorsBridge.endOfAnalysis();
+    assertThat(logTester.logs(LoggerLevel.WARN)).containsOnly("Classes not found during the analysis : [org.unknown.A, org.unknown.B]");
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).contains(
+      "2 classes not found during the analysis:\n" +
+        "  org.unknown.A referenced by 2 files: Foo.java, ...\n" +
+        "  org.unknown.B referenced by 1 file: Foo.java");
+  }
+
+  @Test
+  public void large_files_are_analyzed_without_semantic() {
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.isLargeFile(any(File.class))).thenAnswer(invocation -> "Big.java".equals(((File) invocation.getArgument(0)).getName()));
+    when(sonarComponents.largeFileThreshold()).thenReturn(42);
+    when(sonarComponents.isSonarLintContext()).thenReturn(true);
+    List<Boolean> semanticModels = new ArrayList<>();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList((JavaFileScanner) context -> {
+      semanticModels.add(context.getSemanticModel() != null);
+      assertThat(context.fileParsed()).isTrue();
+    }), Lists.newArrayList(), sonarComponents, SymbolicExecutionMode.ENABLED);
+    checkFile("Big.java", "class Big { Object o = foo(); }", visitorsBridge);
+    checkFile("Small.java", "class Small {}", visitorsBridge);
+    assertThat(semanticModels).containsExactly(false, true);
+    assertThat(logTester.logs(LoggerLevel.INFO)).hasSize(1);
+    assertThat(logTester.logs(LoggerLevel.INFO).get(0))
+      .startsWith("File exceeds 42 lines, analyzing it without semantic model nor symbolic execution: ")
+      .endsWith("Big.java");
+  }
+
+  @Test
+  public void stack_overflow_of_a_scanner_on_large_file_does_not_fail_the_analysis() {
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.isLargeFile(any(File.class))).thenReturn(true);
+    when(sonarComponents.largeFileThreshold()).thenReturn(42);
+    List<String> scannedFiles = new ArrayList<>();
+    JavaFileScanner overflowingScanner = context -> {
+      throw new StackOverflowError();
+    };
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Lists.newArrayList(overflowingScanner, (JavaFileScanner) context -> scannedFiles.add(context.getFile().getName())),
+      Lists.newArrayList(), sonarComponents, SymbolicExecutionMode.DISABLED);
+    checkFile("Big.java", "class Big {}", visitorsBridge);
+    checkFile("Other.java", "class Other {}", visitorsBridge);
+    assertThat(scannedFiles).containsExactly("Big.java", "Other.java");
+    assertThat(logTester.logs(LoggerLevel.ERROR)).hasSize(2);
+    assertThat(logTester.logs(LoggerLevel.ERROR).get(0))
+      .startsWith("A stack overflow error occured while running ")
+      .endsWith("Big.java, its issues on this file are skipped");
+  }
+
   private static String contstructFileName(String... path) {
     String result = "";
     for (String s : path) {
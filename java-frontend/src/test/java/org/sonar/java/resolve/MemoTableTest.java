@@ -0,0 +1,65 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoTableTest {
+
+  @Test
+  public void value_is_computed_only_once() {
+    MemoTable<String, Integer> memoTable = new MemoTable<>(10);
+    List<String> computed = new ArrayList<>();
+    assertThat(memoTable.computeIfAbsent("a", k -> { computed.add(k); return 1; })).isEqualTo(1);
+    assertThat(memoTable.computeIfAbsent("a", k -> { computed.add(k); return 2; })).isEqualTo(1);
+    assertThat(computed).containsExactly("a");
+    assertThat(memoTable.hits()).isEqualTo(1);
+    assertThat(memoTable.misses()).isEqualTo(1);
+  }
+
+  @Test
+  public void least_recently_used_entries_are_evicted() {
+    MemoTable<String, Integer> memoTable = new MemoTable<>(2);
+    memoTable.computeIfAbsent("a", k -> 1);
+    memoTable.computeIfAbsent("b", k -> 2);
+    // access "a" so "b" becomes the eldest entry
+    memoTable.computeIfAbsent("a", k -> 3);
+    memoTable.computeIfAbsent("c", k -> 4);
+    assertThat(memoTable.size()).isEqualTo(2);
+    assertThat(memoTable.computeIfAbsent("a", k -> 5)).isEqualTo(1);
+    assertThat(memoTable.computeIfAbsent("b", k -> 6)).isEqualTo(6);
+  }
+
+  @Test
+  public void computation_can_use_table_recursively() {
+    MemoTable<Integer, Integer> memoTable = new MemoTable<>(100);
+    assertThat(fibonacci(memoTable, 30)).isEqualTo(832040);
+    assertThat(memoTable.misses()).isEqualTo(31);
+  }
+
+  private static int fibonacci(MemoTable<Integer, Integer> memoTable, int n) {
+    return memoTable.computeIfAbsent(n, k -> k < 2 ? k : (fibonacci(memoTable, k - 1) + fibonacci(memoTable, k - 2)));
+  }
+}
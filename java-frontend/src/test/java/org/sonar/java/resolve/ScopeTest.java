@@ -23,7 +23,12 @@ import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ScopeTest {
 
@@ -81,6 +86,29 @@ public class ScopeTest {
     assertThat(scope.scopeSymbols).hasSize(2);
   }
 
+  @Test
+  public void starImport_lookups_are_indexed_by_name() throws Exception {
+    BytecodeCompleter bytecodeCompleter = mock(BytecodeCompleter.class);
+    JavaSymbol listSymbol = new JavaSymbol(JavaSymbol.TYP, 0, "List", null);
+    when(bytecodeCompleter.formFullName(anyString(), any(JavaSymbol.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
+    when(bytecodeCompleter.loadClass("List")).thenReturn(listSymbol);
+    when(bytecodeCompleter.loadClass("Unknown")).thenReturn(new Resolve.JavaSymbolNotFound());
+
+    Scope scope = new Scope.StarImportScope(owner, bytecodeCompleter);
+    scope.enter(new JavaSymbol(JavaSymbol.PCK, 0, "java.util", null));
+    assertThat(scope.lookup("List")).containsExactly(listSymbol);
+    assertThat(scope.lookup("List")).containsExactly(listSymbol);
+    assertThat(scope.lookup("Unknown")).isEmpty();
+    assertThat(scope.lookup("Unknown")).isEmpty();
+    verify(bytecodeCompleter, times(1)).loadClass("List");
+    verify(bytecodeCompleter, times(1)).loadClass("Unknown");
+
+    // entering a new site invalidates the index
+    scope.enter(new JavaSymbol(JavaSymbol.PCK, 0, "java.io", null));
+    assertThat(scope.lookup("List")).containsExactly(listSymbol, listSymbol);
+    verify(bytecodeCompleter, times(3)).loadClass("List");
+  }
+
   @Test
   public void shadowing() {
     Scope outerScope = new Scope(owner);
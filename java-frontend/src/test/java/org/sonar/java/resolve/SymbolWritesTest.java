@@ -0,0 +1,87 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.sonar.sslr.api.typed.ActionParser;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.tree.BlockTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SymbolWritesTest {
+
+  private final ActionParser<Tree> p = JavaParser.createParser();
+
+  @Test
+  public void writes_of_local_variable() {
+    CompilationUnitTree cut = (CompilationUnitTree) p.parse("class A {\n"
+      + "  int f;\n"
+      + "  void foo(int p) {\n"
+      + "    int a = 0;\n"
+      + "    a++;\n"
+      + "    bar(a);\n"
+      + "    (a) += 2;\n"
+      + "    a = a + 1;\n"
+      + "    f = a;\n"
+      + "    this.f = a;\n"
+      + "  }\n"
+      + "}");
+    SemanticModel.createFor(cut, new SquidClassLoader(Collections.emptyList()));
+    List<Tree> members = ((ClassTree) cut.types().get(0)).members();
+    BlockTree body = ((MethodTree) members.get(1)).block();
+    JavaSymbol a = (JavaSymbol) ((VariableTree) body.body().get(0)).symbol();
+
+    SymbolWrites writes = a.writes();
+    assertThat(writes).isSameAs(a.writes());
+    assertThat(lines(writes.writes())).containsExactly(5, 7, 8);
+    assertThat(lines(writes.assignments())).containsExactly(7, 8);
+
+    List<StatementTree> statements = body.body();
+    assertThat(writes.lastAssignmentBefore(statements.get(0))).isNull();
+    assertThat(writes.lastAssignmentBefore(statements.get(2))).isNull();
+    assertThat(((JavaTree) writes.lastAssignmentBefore(statements.get(4))).getLine()).isEqualTo(7);
+    assertThat(((JavaTree) writes.lastAssignmentBefore(statements.get(6))).getLine()).isEqualTo(8);
+
+    JavaSymbol f = (JavaSymbol) ((VariableTree) members.get(0)).symbol();
+    // writes through member select are not considered
+    assertThat(lines(f.writes().writes())).containsExactly(9);
+    JavaSymbol p = (JavaSymbol) ((MethodTree) members.get(1)).parameters().get(0).symbol();
+    assertThat(p.writes().writes()).isEmpty();
+    assertThat(p.writes().lastAssignmentBefore(statements.get(6))).isNull();
+  }
+
+  private static List<Integer> lines(List<? extends Tree> trees) {
+    return trees.stream().map(tree -> ((JavaTree) tree).getLine()).collect(Collectors.toList());
+  }
+
+}
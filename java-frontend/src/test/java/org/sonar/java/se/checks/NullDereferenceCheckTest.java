@@ -20,7 +20,13 @@
 package org.sonar.java.se.checks;
 
 import org.junit.Test;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.java.se.JavaCheckVerifier;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class NullDereferenceCheckTest {
 
@@ -68,4 +74,30 @@ public class NullDereferenceCheckTest {
   public void test_npe_transitive() throws Exception {
     JavaCheckVerifier.verify("src/test/files/se/NPE_transitive.java", new NullDereferenceCheck());
   }
+
+  @Test
+  public void suppressed_issues_are_not_reported() {
+    NullDereferenceCheck check = new NullDereferenceCheck() {
+      @Override
+      public boolean isIssueSuppressed(Tree tree) {
+        return true;
+      }
+    };
+    JavaCheckVerifier.verifyNoIssue("src/test/files/se/NullDereferenceSuppressed.java", check);
+  }
+
+  @Test
+  public void issue_suppression_is_asked_to_scanner_context() {
+    NullDereferenceCheck check = new NullDereferenceCheck();
+    Tree tree = mock(Tree.class);
+    assertThat(check.isIssueSuppressed(tree)).isFalse();
+
+    DefaultJavaFileScannerContext context = mock(DefaultJavaFileScannerContext.class);
+    when(context.isIssueSuppressed(check, tree)).thenReturn(true);
+    check.setScannerContext(context);
+    assertThat(check.isIssueSuppressed(tree)).isTrue();
+
+    check.setScannerContext(null);
+    assertThat(check.isIssueSuppressed(tree)).isFalse();
+  }
 }
@@ -21,6 +21,7 @@ package org.sonar.plugins.java;
 
 import com.google.common.collect.ImmutableList;
 import org.sonar.api.Plugin;
+import org.sonar.api.PropertyType;
 import org.sonar.api.SonarProduct;
 import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.resources.Qualifiers;
@@ -61,6 +62,15 @@ public class JavaPlugin implements Plugin {
         .subCategory("General")
         .onQualifiers(Qualifiers.PROJECT)
         .build(),
+      PropertyDefinition.builder(SonarComponents.LARGE_FILE_THRESHOLD_KEY)
+        .defaultValue(Integer.toString(SonarComponents.DEFAULT_LARGE_FILE_THRESHOLD))
+        .category(JavaConstants.JAVA_CATEGORY)
+        .name("Large file threshold")
+        .type(PropertyType.INTEGER)
+        .description("Number of lines above which a file is analyzed without semantic model nor symbolic execution. Set to 0 to analyze all files completely.")
+        .subCategory("General")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
       JavaRulesDefinition.class,
       SonarComponents.class,
       DefaultJavaResourceLocator.class,